@@ -0,0 +1,192 @@
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ActiveRenderer draws the map area of a {@link GameRunningGUI} itself, from a render thread of
+ * its own, instead of waiting for Swing to repaint it. The map, towers, balloons, projectiles and
+ * the tower being placed are drawn into a triple buffered {@link BufferStrategy} (double buffered
+ * where the screen does not allow three buffers) at the refresh rate of the screen, and each frame
+ * is shown as soon as it is done. Balloons and projectiles are drawn between simulation ticks, so
+ * they move smoothly on screens faster than the simulation. The buttons and the panels beside the
+ * map are still painted by Swing.
+ * Mouse input over the map is passed on to the {@link TowerPanel}, which lies over the map but
+ * underneath this canvas on screen.
+ * Active rendering is switched on with {@code -DactiveRendering=true}.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class ActiveRenderer extends Canvas implements Runnable {
+    /** Frame rate used when the refresh rate of the screen is unknown. */
+    private static final int DEFAULT_FRAME_RATE = 60;
+
+    private final GameRunningGUI gameRunningGUI;
+
+    /** Sprites and background prepared for this canvas, only used by the render thread */
+    private final SpriteCache sprites = new SpriteCache();
+    private final BackgroundLayer background;
+
+    private volatile boolean running;
+    private Thread renderThread;
+
+    /** Time between frames, matching the screen last drawn to. Only used by the render thread */
+    private long frameNanos = 1_000_000_000L / DEFAULT_FRAME_RATE;
+    private GraphicsConfiguration frameRateConfiguration;
+
+    /**
+     * Constructs the canvas.
+     *
+     * @param gameRunningGUI The game whose map area is drawn.
+     * @param towerPanel     The panel mouse input over the map is passed on to.
+     */
+    public ActiveRenderer(GameRunningGUI gameRunningGUI, TowerPanel towerPanel) {
+        this.gameRunningGUI = gameRunningGUI;
+        this.background = gameRunningGUI.createBackground();
+        setIgnoreRepaint(true);
+
+        MouseAdapter forward = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                forward(e);
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                forward(e);
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                forward(e);
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                forward(e);
+            }
+
+            /**
+             * Passes an event on to the tower panel, translated to its coordinates, and shows
+             * the panel's cursor over the canvas.
+             */
+            private void forward(MouseEvent e) {
+                MouseEvent converted = new MouseEvent(towerPanel, e.getID(), e.getWhen(), e.getModifiersEx(),
+                        e.getX() + getX() - towerPanel.getParent().getX() - towerPanel.getX(),
+                        e.getY() + getY() - towerPanel.getParent().getY() - towerPanel.getY(),
+                        e.getClickCount(), e.isPopupTrigger(), e.getButton());
+                towerPanel.dispatchEvent(converted);
+                setCursor(towerPanel.getCursor());
+            }
+        };
+        addMouseListener(forward);
+        addMouseMotionListener(forward);
+    }
+
+    /**
+     * Creates the buffers once the canvas has a screen to draw to.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        try {
+            createBufferStrategy(3);
+        } catch (IllegalArgumentException e) {
+            createBufferStrategy(2);
+        }
+    }
+
+    /**
+     * Starts the render thread.
+     */
+    public void start() {
+        running = true;
+        renderThread = new Thread(this, "Render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * Stops the render thread and waits for it to finish its frame.
+     */
+    public void stop() {
+        running = false;
+        if (renderThread != null && renderThread != Thread.currentThread()) {
+            try {
+                renderThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        renderThread = null;
+    }
+
+    /**
+     * Draws frames until stopped, waiting between them so that a new frame starts once per
+     * refresh of the screen, or at {@link GameSpeed#REDUCED_FRAME_NANOS} while the game runs at
+     * maximum speed. A frame that is late does not make the following frames come sooner.
+     */
+    @Override
+    public void run() {
+        long nextFrame = System.nanoTime();
+        while (running) {
+            if (isDisplayable()) {
+                renderFrame();
+            }
+            nextFrame += gameRunningGUI.isRunningFlatOut()
+                    ? Math.max(frameNanos, GameSpeed.REDUCED_FRAME_NANOS) : frameNanos;
+            long wait = nextFrame - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else {
+                nextFrame = System.nanoTime();
+            }
+        }
+        sprites.flush();
+        background.flush();
+    }
+
+    /**
+     * Draws one frame and shows it, drawing it again if the buffers were lost meanwhile.
+     */
+    private void renderFrame() {
+        BufferStrategy strategy = getBufferStrategy();
+        if (strategy == null) {
+            return;
+        }
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc != frameRateConfiguration) {
+            frameRateConfiguration = gc;
+            frameNanos = 1_000_000_000L / refreshRate(gc);
+        }
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    // Draw in the coordinates of the game panel, like its own painting does
+                    g.translate(-getX(), -getY());
+                    gameRunningGUI.drawPlayArea(g, sprites, background, gc);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * Returns the refresh rate of the screen a configuration belongs to.
+     *
+     * @param gc The configuration of the screen, or null if unknown.
+     * @return The refresh rate in hertz, or {@link #DEFAULT_FRAME_RATE} if it is unknown.
+     */
+    private static int refreshRate(GraphicsConfiguration gc) {
+        if (gc == null) {
+            return DEFAULT_FRAME_RATE;
+        }
+        int rate = gc.getDevice().getDisplayMode().getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_FRAME_RATE : rate;
+    }
+}
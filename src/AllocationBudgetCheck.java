@@ -0,0 +1,152 @@
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * AllocationBudgetCheck plays a scripted late game on a headless {@link GameSimulation} and
+ * measures how many bytes each tick allocates, using the per thread allocation counter of
+ * the JVM. After a warm up that lets every pool and array grow to its working size, a tick
+ * must stay within {@link #BYTES_PER_TICK_BUDGET}; any more means something in the tick
+ * started allocating again and will show up as garbage collection hitches in late waves.
+ * Run it from the project root with the sources on the classpath:
+ * {@code java -Djava.awt.headless=true -cp out:src AllocationBudgetCheck}.
+ * The process exits with status 1 when the budget is exceeded.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class AllocationBudgetCheck {
+    /** Map the scenario is played on. */
+    private static final String MAP = "Maze";
+
+    /** Average number of bytes a steady state tick may allocate. */
+    private static final long BYTES_PER_TICK_BUDGET = 8;
+
+    /** How often the late waves are replayed before and while measuring. */
+    private static final int WARM_UP_ROUNDS = 3, MEASURED_ROUNDS = 5;
+
+    /** Late waves replayed by the scenario, strongest last. */
+    private static final int[] LATE_WAVES = {20, 21, 22, 23};
+
+    /** Tower placement candidates, as top left corners on the map. */
+    private static final int[][] SPOTS = {
+            {60, 90}, {160, 90}, {260, 90}, {360, 90}, {460, 90}, {560, 90},
+            {60, 230}, {160, 230}, {260, 230}, {360, 230}, {460, 230}, {560, 230},
+            {60, 370}, {160, 370}, {260, 370}, {360, 370}, {460, 370}, {560, 370},
+            {110, 160}, {310, 160}, {510, 160}, {110, 300}, {310, 300}, {510, 300}
+    };
+
+    /**
+     * Runs the scenario and reports the measured allocation rate.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.err.println("Thread allocation counters are not supported by this JVM.");
+            System.exit(2);
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        GameSimulation simulation = createScenario();
+        for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+            playLateWaves(simulation, null, threadId, 0);
+        }
+
+        // Reading the counter may allocate by itself, so measure that and subtract it
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            long after = threads.getThreadAllocatedBytes(threadId);
+            overhead = Math.min(overhead, after - before);
+        }
+
+        long[] totals = new long[3]; // bytes, ticks, worst tick
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            long[] result = playLateWaves(simulation, threads, threadId, overhead);
+            totals[0] += result[0];
+            totals[1] += result[1];
+            totals[2] = Math.max(totals[2], result[2]);
+        }
+
+        if (simulation.isGameOver()) {
+            System.err.println("The scenario lost the game, so the measurement is not representative.");
+            System.exit(2);
+        }
+        double perTick = totals[0] / (double) Math.max(1, totals[1]);
+        System.out.printf("%d ticks, %d bytes allocated, %.2f bytes per tick (budget %d), worst tick %d bytes%n",
+                totals[1], totals[0], perTick, BYTES_PER_TICK_BUDGET, totals[2]);
+        if (perTick > BYTES_PER_TICK_BUDGET) {
+            System.err.println("Allocation budget exceeded.");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Creates a simulation with towers of every kind placed around the path, so that balloons,
+     * projectiles, splash damage, goo and freezing are all exercised.
+     */
+    private static GameSimulation createScenario() {
+        BufferedImage map = AssetRegistry.getImage("MapImg/" + MAP + ".png");
+        if (map == null) {
+            System.err.println("Failed to load map image: " + MAP);
+            System.exit(2);
+        }
+
+        GameSimulation simulation = new GameSimulation(MAP, false);
+        int placed = 0;
+        for (int[] spot : SPOTS) {
+            Tower tower = createTower(placed, map);
+            if (tower.isPlaceable(spot[0] + tower.getImgWidth() / 2, spot[1] + tower.getImgHeight() / 2)) {
+                simulation.placeTower(tower, spot[0], spot[1]);
+                placed++;
+            }
+        }
+        return simulation;
+    }
+
+    /**
+     * Returns a new tower, cycling through every kind of tower.
+     */
+    private static Tower createTower(int index, BufferedImage map) {
+        switch (index % 9) {
+            case 0: return new DartMonkey(map);
+            case 1: return new TackShooter(map);
+            case 2: return new BombTower(map);
+            case 3: return new GlueGunner(map);
+            case 4: return new Ninja(map);
+            case 5: return new Wizard(map);
+            case 6: return new IceTower(map);
+            case 7: return new SniperMonkey(map);
+            default: return new SuperMonkey(map);
+        }
+    }
+
+    /**
+     * Replays each late wave until it is cleared. When a thread bean is given, the bytes
+     * allocated by every tick, less the cost of reading the counter, are measured.
+     *
+     * @return the bytes allocated, the number of ticks and the bytes of the worst tick
+     */
+    private static long[] playLateWaves(GameSimulation simulation, com.sun.management.ThreadMXBean threads,
+                                        long threadId, long overhead) {
+        long bytes = 0, ticks = 0, worst = 0;
+        for (int wave : LATE_WAVES) {
+            simulation.replayWave(wave);
+            while (simulation.isWaveInProgress() && !simulation.isGameOver()) {
+                if (threads == null) {
+                    simulation.step();
+                    continue;
+                }
+                long before = threads.getThreadAllocatedBytes(threadId);
+                simulation.step();
+                long allocated = Math.max(0, threads.getThreadAllocatedBytes(threadId) - before - overhead);
+                bytes += allocated;
+                worst = Math.max(worst, allocated);
+                ticks++;
+            }
+        }
+        return new long[]{bytes, ticks, worst};
+    }
+}
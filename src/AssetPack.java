@@ -0,0 +1,171 @@
+import javax.sound.sampled.AudioFormat;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * AssetPack reads the single binary pack written by {@link AssetPacker}, which holds every image
+ * already decoded to premultiplied ARGB pixels and every sound already decoded to PCM samples.
+ * When the pack is a file it is memory mapped, so opening it costs one system call and sprites
+ * are copied straight out of the mapped pages without decoding anything. Inside a jar it is read
+ * into memory in one go instead.
+ * The pack starts with a header: the magic number, the format version and the number of entries,
+ * followed by one index entry per asset (key, kind, offset and length of its data, and its size
+ * or audio format). The data of all assets follows the index. All numbers are big endian.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class AssetPack {
+    /** Name of the pack on the classpath. */
+    public static final String RESOURCE = "assets.pack";
+
+    /** "BLPK", marks a file as an asset pack. */
+    static final int MAGIC = 0x424C504B;
+    static final int VERSION = 1;
+
+    /** Kinds of index entries. */
+    static final byte IMAGE = 0, SOUND = 1;
+
+    private final ByteBuffer data;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Reads the index of a pack.
+     *
+     * @param data The whole pack, positioned at its start.
+     * @throws IOException If the data is not an asset pack of this version.
+     */
+    AssetPack(ByteBuffer data) throws IOException {
+        this.data = data;
+        ByteBuffer header = data.duplicate();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IOException("Not an asset pack of version " + VERSION);
+        }
+        int count = header.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] keyBytes = new byte[header.getShort() & 0xFFFF];
+            header.get(keyBytes);
+            Entry entry = new Entry();
+            entry.kind = header.get();
+            entry.offset = header.getInt();
+            entry.length = header.getInt();
+            if (entry.kind == IMAGE) {
+                entry.width = header.getInt();
+                entry.height = header.getInt();
+            } else {
+                entry.format = new AudioFormat(
+                        header.get() != 0 ? AudioFormat.Encoding.PCM_SIGNED : AudioFormat.Encoding.PCM_UNSIGNED,
+                        header.getFloat(), header.getInt(), header.getInt(), header.getInt(),
+                        header.getFloat(), header.get() != 0);
+            }
+            entries.put(new String(keyBytes, StandardCharsets.UTF_8), entry);
+        }
+    }
+
+    /**
+     * Opens the pack on the classpath, memory mapping it when it is a plain file.
+     *
+     * @return The pack, or null if there is none or it cannot be read.
+     */
+    public static AssetPack open() {
+        URL url = AssetPack.class.getClassLoader().getResource(RESOURCE);
+        if (url == null) {
+            return null;
+        }
+        try {
+            if ("file".equals(url.getProtocol())) {
+                return new AssetPack(map(Paths.get(url.toURI())));
+            }
+            try (InputStream in = url.openStream()) {
+                return new AssetPack(ByteBuffer.wrap(in.readAllBytes()));
+            }
+        } catch (IOException | URISyntaxException e) {
+            System.err.println("Failed to open asset pack, loading assets one by one: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Memory maps a whole file read only. The mapping stays valid after the channel is closed.
+     */
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Checks whether the pack holds an asset.
+     *
+     * @param key The key of the asset, as used by {@link AssetRegistry}.
+     * @return true if the pack has the asset
+     */
+    public boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Creates an image from the premultiplied pixels stored in the pack.
+     *
+     * @param key The key of the image.
+     * @return A new image of type {@link BufferedImage#TYPE_INT_ARGB_PRE}, or null if the pack
+     * does not hold an image with that key.
+     */
+    public BufferedImage getImage(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.kind != IMAGE) {
+            return null;
+        }
+        BufferedImage image = new BufferedImage(entry.width, entry.height, BufferedImage.TYPE_INT_ARGB_PRE);
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        slice(entry).asIntBuffer().get(pixels);
+        return image;
+    }
+
+    /**
+     * Creates a sound from the PCM samples stored in the pack.
+     *
+     * @param key The key of the sound.
+     * @return The sound, or null if the pack does not hold a sound with that key.
+     */
+    public AssetRegistry.Sound getSound(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.kind != SOUND) {
+            return null;
+        }
+        byte[] samples = new byte[entry.length];
+        slice(entry).get(samples);
+        return new AssetRegistry.Sound(entry.format, samples);
+    }
+
+    /**
+     * Returns a view of the data of an entry. Every caller gets its own view, so assets can
+     * be read from several threads at once.
+     */
+    private ByteBuffer slice(Entry entry) {
+        ByteBuffer view = data.duplicate();
+        view.position(entry.offset).limit(entry.offset + entry.length);
+        return view.slice();
+    }
+
+    /**
+     * Where an asset's data lies in the pack and how to interpret it.
+     */
+    private static class Entry {
+        byte kind;
+        int offset, length;
+        int width, height;
+        AudioFormat format;
+    }
+}
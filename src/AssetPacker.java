@@ -0,0 +1,191 @@
+import javax.sound.sampled.AudioFormat;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AssetPacker decodes every image and sound listed in {@link AssetRegistry} and writes them into
+ * one binary pack that {@link AssetPack} memory maps at runtime. Images are stored as
+ * premultiplied ARGB pixels and sounds as PCM samples, so loading them later is a copy instead of
+ * a decode. Balloon and projectile sprites are scaled down first, since they are always drawn far
+ * smaller than their source files. The layout of the pack is described in {@link AssetPack}.
+ * Run it from the project root after changing any asset:
+ * {@code java -Djava.awt.headless=true -cp out:src AssetPacker [output]}.
+ * The pack is written to {@code src/assets.pack} unless another file is given. Without a pack the
+ * game decodes the original files as before.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class AssetPacker {
+    /** Where the pack is written when no output is given, next to the assets on the classpath. */
+    private static final String DEFAULT_OUTPUT = "src/" + AssetPack.RESOURCE;
+
+    /** Size of the header: magic number, version and entry count. */
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * Folders of sprites that are always drawn much smaller than their source files, some of
+     * which are thousands of pixels wide, and the longest side they are scaled down to.
+     * That is twice the largest size any of them is drawn at, which leaves room for rotation.
+     */
+    private static final String[] SCALED_FOLDERS = {"BalloonImages/", "ProjectileImages/"};
+    private static final int MAX_SPRITE_SIDE = 200;
+
+    /**
+     * Writes the asset pack.
+     *
+     * @param args Optionally the file to write the pack to.
+     */
+    public static void main(String[] args) {
+        String output = args.length > 0 ? args[0] : DEFAULT_OUTPUT;
+
+        List<PackedAsset> assets = new ArrayList<>();
+        for (String key : AssetRegistry.IMAGES) {
+            BufferedImage image = (BufferedImage) AssetRegistry.decode(key, false);
+            if (image != null) {
+                for (String folder : SCALED_FOLDERS) {
+                    if (key.startsWith(folder)) {
+                        image = scaleToFit(image, MAX_SPRITE_SIDE);
+                    }
+                }
+                assets.add(new PackedAsset(key, image));
+            }
+        }
+        for (String key : AssetRegistry.SOUNDS) {
+            AssetRegistry.Sound sound = (AssetRegistry.Sound) AssetRegistry.decode(key, true);
+            if (sound != null) {
+                assets.add(new PackedAsset(key, sound));
+            }
+        }
+
+        int offset = HEADER_SIZE;
+        for (PackedAsset asset : assets) {
+            offset += asset.indexSize();
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(output)))) {
+            out.writeInt(AssetPack.MAGIC);
+            out.writeInt(AssetPack.VERSION);
+            out.writeInt(assets.size());
+            for (PackedAsset asset : assets) {
+                asset.writeIndex(out, offset);
+                offset += asset.data.length;
+            }
+            for (PackedAsset asset : assets) {
+                out.write(asset.data);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write asset pack: " + output);
+            System.exit(1);
+        }
+        System.out.println("Packed " + assets.size() + " assets into " + output + " (" + offset + " bytes)");
+    }
+
+    /**
+     * Scales an image down, keeping its aspect ratio, until its longest side is at most the given
+     * size. Halves the image one step at a time so large images keep their detail.
+     */
+    private static BufferedImage scaleToFit(BufferedImage image, int maxSide) {
+        int targetWidth = image.getWidth(), targetHeight = image.getHeight();
+        int longest = Math.max(targetWidth, targetHeight);
+        if (longest <= maxSide) {
+            return image;
+        }
+        targetWidth = Math.max(1, targetWidth * maxSide / longest);
+        targetHeight = Math.max(1, targetHeight * maxSide / longest);
+
+        BufferedImage scaled = image;
+        int width = image.getWidth(), height = image.getHeight();
+        while (width != targetWidth || height != targetHeight) {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(scaled, 0, 0, width, height, null);
+            g.dispose();
+            scaled = step;
+        }
+        return scaled;
+    }
+
+    /**
+     * One decoded asset waiting to be written, with its data already in pack format.
+     */
+    private static class PackedAsset {
+        private final byte[] key;
+        private final byte kind;
+        private final byte[] data;
+        private int width, height;
+        private AudioFormat format;
+
+        /**
+         * Converts an image to premultiplied ARGB pixels.
+         */
+        PackedAsset(String key, BufferedImage image) {
+            this.key = key.getBytes(StandardCharsets.UTF_8);
+            this.kind = AssetPack.IMAGE;
+            this.width = image.getWidth();
+            this.height = image.getHeight();
+
+            BufferedImage converted = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = converted.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(image, 0, 0, null);
+            g.dispose();
+            int[] pixels = ((DataBufferInt) converted.getRaster().getDataBuffer()).getData();
+
+            ByteBuffer buffer = ByteBuffer.allocate(pixels.length * 4);
+            buffer.asIntBuffer().put(pixels);
+            this.data = buffer.array();
+        }
+
+        /**
+         * Keeps a sound's PCM samples as they are.
+         */
+        PackedAsset(String key, AssetRegistry.Sound sound) {
+            this.key = key.getBytes(StandardCharsets.UTF_8);
+            this.kind = AssetPack.SOUND;
+            this.format = sound.getFormat();
+            this.data = sound.getSamples();
+        }
+
+        /**
+         * @return the number of bytes the asset's index entry takes
+         */
+        int indexSize() {
+            return 2 + key.length + 1 + 4 + 4 + (kind == AssetPack.IMAGE ? 8 : 22);
+        }
+
+        /**
+         * Writes the asset's index entry, in the order {@link AssetPack} reads it.
+         */
+        void writeIndex(DataOutputStream out, int offset) throws IOException {
+            out.writeShort(key.length);
+            out.write(key);
+            out.writeByte(kind);
+            out.writeInt(offset);
+            out.writeInt(data.length);
+            if (kind == AssetPack.IMAGE) {
+                out.writeInt(width);
+                out.writeInt(height);
+            } else {
+                out.writeByte(format.getEncoding() == AudioFormat.Encoding.PCM_SIGNED ? 1 : 0);
+                out.writeFloat(format.getSampleRate());
+                out.writeInt(format.getSampleSizeInBits());
+                out.writeInt(format.getChannels());
+                out.writeInt(format.getFrameSize());
+                out.writeFloat(format.getFrameRate());
+                out.writeByte(format.isBigEndian() ? 1 : 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * AssetRegistry is the one place images, sounds and text files are loaded from. Every asset is decoded once,
+ * keyed by its path relative to the classpath root (for example {@code "MapImg/Maze.png"}), and
+ * the same instance is handed out afterwards. Assets are read through the class loader, so they
+ * load the same way from the source folder and from a packaged jar.
+ * When an {@link AssetPack} built by {@link AssetPacker} is on the classpath, assets are copied
+ * out of it instead of being decoded from their original files.
+ * {@link #preloadAll()} decodes every asset the game uses on a small pool of background threads
+ * while the home screen is showing, so that starting a map does not touch the disk. Asking for an
+ * asset that is still loading waits for it, and asking for one that was never queued loads it on
+ * the calling thread.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class AssetRegistry {
+    /** Every image the game uses. */
+    static final String[] IMAGES = {
+            "DesignImg/homeScreen.png", "DesignImg/WoodTextureOne.jpg", "DesignImg/hearts.png",
+            "DesignImg/moneySign.png", "DesignImg/trash.png",
+            "MapImg/Maze.png", "MapImg/MonkeyLane.png", "MapImg/SpringTrack.png",
+            "BalloonImages/redbloon.png", "BalloonImages/bluebloon.png", "BalloonImages/greenbloon.png",
+            "BalloonImages/yellowbloon.png", "BalloonImages/pinkbloon.png", "BalloonImages/zebrabloon.png",
+            "BalloonImages/rainbowbloon.png", "BalloonImages/ceramicbloon.png", "BalloonImages/moab.png",
+            "BalloonImages/metalbloon.png", "BalloonImages/pop.png",
+            "TowerImages/DartMonkey.png", "TowerImages/TackShooter.png", "TowerImages/SniperMonkey.png",
+            "TowerImages/Ninja.png", "TowerImages/BombTower.png", "TowerImages/IceTower.png",
+            "TowerImages/GlueGunner.png", "TowerImages/Wizard.png", "TowerImages/SuperMonkey.png",
+            "ProjectileImages/dart.png", "ProjectileImages/glueDart.png", "ProjectileImages/ninjaStar.png",
+            "ProjectileImages/energyBall.png", "ProjectileImages/bomb.png"
+    };
+
+    /** Every sound the game uses. */
+    static final String[] SOUNDS = {
+            "Sounds/Click.wav", "Sounds/NewTowerIntro.wav", "Sounds/PlaceTower.wav", "Sounds/Sell.wav",
+            "Sounds/Pop1.wav", "Sounds/Pop2.wav", "Sounds/Pop3.wav", "Sounds/Pop4.wav",
+            "Sounds/maintheme.wav", "Sounds/rickRoll.wav"
+    };
+
+    /** Every text file the game shows while a map is played. */
+    static final String[] TEXTS = {
+            "Info/Towers.txt", "Info/Dart Monkey.txt", "Info/Tack Shooter.txt", "Info/Bomb Tower.txt",
+            "Info/Glue Gunner.txt", "Info/Frozen Monkey.txt", "Info/Ninja Monkey.txt",
+            "Info/Sniper Monkey.txt", "Info/Super Monkey.txt", "Info/Wizard Monkey.txt"
+    };
+
+    /** Loaded or loading assets by key. A failed load is cached as null so it is reported once. */
+    private static final Map<String, FutureTask<Object>> ASSETS = new ConcurrentHashMap<>();
+
+    /** Background threads the preload runs on, created on first use. */
+    private static ExecutorService loader;
+
+    private AssetRegistry() {
+    }
+
+    /**
+     * Starts decoding every image, sound and text file the game uses on background threads. Assets that
+     * are already loaded or loading are skipped, so calling this again does nothing.
+     */
+    public static synchronized void preloadAll() {
+        if (loader == null) {
+            int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+            loader = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "Asset loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        for (String key : IMAGES) {
+            queue(key, () -> load(key, false));
+        }
+        for (String key : SOUNDS) {
+            queue(key, () -> load(key, true));
+        }
+        for (String key : TEXTS) {
+            queue(key, () -> loadText(key));
+        }
+    }
+
+    /**
+     * Returns the image with the given key.
+     *
+     * @param key Path of the image relative to the classpath root, e.g. {@code "MapImg/Maze.png"}.
+     * @return The decoded image, or null if it could not be loaded.
+     */
+    public static BufferedImage getImage(String key) {
+        return (BufferedImage) get(key, () -> load(key, false));
+    }
+
+    /**
+     * Returns the decoded sound with the given key.
+     *
+     * @param key Path of the sound relative to the classpath root, e.g. {@code "Sounds/Click.wav"}.
+     * @return The decoded sound, or null if it could not be loaded.
+     */
+    public static Sound getSound(String key) {
+        return (Sound) get(key, () -> load(key, true));
+    }
+
+    /**
+     * Returns the contents of the text file with the given key.
+     *
+     * @param key Path of the file relative to the classpath root, e.g. {@code "Info/Towers.txt"}.
+     * @return The lines of the file, or null if it could not be loaded.
+     */
+    public static String[] getText(String key) {
+        return (String[]) get(key, () -> loadText(key));
+    }
+
+    /**
+     * Returns an asset, loading it on the calling thread if it was never queued or is still
+     * waiting for a background thread, and waiting for it if a background thread is loading it.
+     */
+    private static Object get(String key, Callable<Object> reader) {
+        FutureTask<Object> task = new FutureTask<>(reader);
+        FutureTask<Object> existing = ASSETS.putIfAbsent(key, task);
+        if (existing == null) {
+            existing = task;
+        }
+        /** Does nothing if the task has already started or finished */
+        existing.run();
+        try {
+            return existing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Queues an asset on the background threads unless it is already loaded or loading.
+     */
+    private static void queue(String key, Callable<Object> reader) {
+        FutureTask<Object> task = new FutureTask<>(reader);
+        if (ASSETS.putIfAbsent(key, task) == null) {
+            loader.execute(task);
+        }
+    }
+
+    /**
+     * Loads an asset, copying it out of the asset pack when there is one that holds it and
+     * decoding its original file otherwise.
+     *
+     * @return The image or sound, or null if it could not be loaded.
+     */
+    private static Object load(String key, boolean sound) {
+        AssetPack pack = PackHolder.PACK;
+        if (pack != null && pack.contains(key)) {
+            return sound ? pack.getSound(key) : pack.getImage(key);
+        }
+        return decode(key, sound);
+    }
+
+    /**
+     * Reads and decodes the original file of an asset from the classpath.
+     *
+     * @param key   Path of the asset relative to the classpath root.
+     * @param sound Whether the asset is a sound rather than an image.
+     * @return The image or sound, or null if it could not be loaded.
+     */
+    static Object decode(String key, boolean sound) {
+        InputStream resource = AssetRegistry.class.getClassLoader().getResourceAsStream(key);
+        if (resource == null) {
+            System.err.println("Asset not found: " + key);
+            return null;
+        }
+        try (InputStream in = new BufferedInputStream(resource)) {
+            return sound ? decodeSound(in) : ImageIO.read(in);
+        } catch (IOException | UnsupportedAudioFileException e) {
+            System.err.println("Failed to load asset: " + key);
+            return null;
+        }
+    }
+
+    /**
+     * Reads a text file from the classpath as UTF-8.
+     *
+     * @return The lines of the file, or null if it could not be loaded.
+     */
+    private static String[] loadText(String key) {
+        InputStream resource = AssetRegistry.class.getClassLoader().getResourceAsStream(key);
+        if (resource == null) {
+            System.err.println("Asset not found: " + key);
+            return null;
+        }
+        try (InputStream in = resource) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\\R");
+        } catch (IOException e) {
+            System.err.println("Failed to load asset: " + key);
+            return null;
+        }
+    }
+
+    /**
+     * Decodes a sound into PCM samples that a clip can be opened with directly.
+     */
+    private static Sound decodeSound(InputStream in) throws IOException, UnsupportedAudioFileException {
+        AudioInputStream stream = AudioSystem.getAudioInputStream(in);
+        AudioFormat format = stream.getFormat();
+        if (format.getEncoding() != AudioFormat.Encoding.PCM_SIGNED
+                && format.getEncoding() != AudioFormat.Encoding.PCM_UNSIGNED) {
+            format = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                    format.getChannels(), format.getChannels() * 2, format.getSampleRate(), false);
+            stream = AudioSystem.getAudioInputStream(format, stream);
+        }
+        try (AudioInputStream pcm = stream) {
+            return new Sound(format, pcm.readAllBytes());
+        }
+    }
+
+    /**
+     * Opens the asset pack the first time an asset is loaded.
+     */
+    private static class PackHolder {
+        private static final AssetPack PACK = AssetPack.open();
+    }
+
+    /**
+     * A sound decoded to PCM samples, shared by every {@link SoundEffect} playing it.
+     */
+    public static final class Sound {
+        private final AudioFormat format;
+        private final byte[] samples;
+
+        /**
+         * Constructs a decoded sound.
+         *
+         * @param format  The format of the samples.
+         * @param samples The PCM samples.
+         */
+        Sound(AudioFormat format, byte[] samples) {
+            this.format = format;
+            this.samples = samples;
+        }
+
+        /**
+         * @return the format of the samples
+         */
+        public AudioFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * @return the PCM samples, which must not be modified
+         */
+        public byte[] getSamples() {
+            return samples;
+        }
+    }
+}
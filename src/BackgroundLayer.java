@@ -0,0 +1,122 @@
+import java.awt.*;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BackgroundLayer holds the parts of the game screen that never change while a map is played,
+ * the map itself and the wood panels on both sides of it, composited once into a single
+ * {@link VolatileImage} compatible with the screen. Every frame then starts with one unscaled
+ * copy of the layer instead of scaling each image again.
+ * The layer is only composited again when its surface is lost or the window moves to a screen
+ * with a different configuration. A layer for another layout is a new layer.
+ * Without a screen configuration the images are drawn scaled from their sources as before.
+ * A layer is confined to one thread: the event dispatch thread for Swing painting, or the
+ * render thread of an {@link ActiveRenderer}, which keeps layers of its own.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class BackgroundLayer {
+    private final int width, height;
+    private final List<Part> parts = new ArrayList<>();
+    private VolatileImage image;
+
+    /**
+     * Constructs an empty layer. The surface is only created when it is first drawn.
+     *
+     * @param width  The width of the layer.
+     * @param height The height of the layer.
+     */
+    public BackgroundLayer(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Adds an image to the layer, drawn over the images added before it.
+     *
+     * @param source The image to draw, or null to leave the area empty.
+     * @param x      The x-coordinate of the image's top left corner in the layer.
+     * @param y      The y-coordinate of the image's top left corner in the layer.
+     * @param width  The width the image is drawn at.
+     * @param height The height the image is drawn at.
+     */
+    public void add(Image source, int x, int y, int width, int height) {
+        if (source != null) {
+            parts.add(new Part(source, x, y, width, height));
+            flush();
+        }
+    }
+
+    /**
+     * Draws the layer without scaling, compositing it again first if the surface was lost or
+     * does not suit the screen.
+     *
+     * @param g  The graphics context to draw with.
+     * @param x  The x-coordinate of the layer's top left corner.
+     * @param y  The y-coordinate of the layer's top left corner.
+     * @param gc The configuration of the screen drawn to, or null if unknown.
+     */
+    public void draw(Graphics g, int x, int y, GraphicsConfiguration gc) {
+        if (gc == null) {
+            for (int i = 0; i < parts.size(); i++) {
+                Part part = parts.get(i);
+                g.drawImage(part.source, x + part.x, y + part.y, part.width, part.height, null);
+            }
+            return;
+        }
+        do {
+            int status = image == null ? VolatileImage.IMAGE_INCOMPATIBLE : image.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                flush();
+                image = gc.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+                render();
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                render();
+            }
+            g.drawImage(image, x, y, null);
+        } while (image.contentsLost());
+    }
+
+    /**
+     * Composites every image into the video memory surface.
+     */
+    private void render() {
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, width, height);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        for (int i = 0; i < parts.size(); i++) {
+            Part part = parts.get(i);
+            g.drawImage(part.source, part.x, part.y, part.width, part.height, null);
+        }
+        g.dispose();
+    }
+
+    /**
+     * Releases the layer's video memory. It is composited again when next drawn.
+     */
+    public void flush() {
+        if (image != null) {
+            image.flush();
+            image = null;
+        }
+    }
+
+    /**
+     * One image of the layer and where it is drawn.
+     */
+    private static class Part {
+        private final Image source;
+        private final int x, y, width, height;
+
+        Part(Image source, int x, int y, int width, int height) {
+            this.source = source;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+import java.util.Arrays;
+
+/**
+ * A uniform grid spatial index over the balloons on the map, keyed on each balloon's center.
+ * Every cell keeps its balloons in an intrusive doubly linked list stored in arrays indexed by
+ * balloon id, so inserting, removing and moving a balloon are constant time and never
+ * allocate. A balloon only changes lists when it crosses a cell boundary. Radius queries visit
+ * only the cells overlapping the query circle, which keeps tower targeting, projectile
+ * collision and explosion damage from scanning every balloon on the map.
+ * Positions outside the grid bounds are clamped into the border cells, so balloons entering or
+ * leaving the map are still found.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class BalloonGrid {
+    private final BalloonStore balloons;
+    private final int originX, originY;
+    private final int cellSize;
+    private final int columns, rows;
+
+    /** First balloon id in each cell, indexed by row * columns + column, or -1 if empty. */
+    private final int[] cellHeads;
+
+    /** Cell and neighbours of each balloon, indexed by {@link BalloonStore#indexOf(int)}, -1 where there is none. */
+    private int[] cellOfBalloon = new int[0], prev = new int[0], next = new int[0];
+
+    /**
+     * Constructs an empty grid covering the given area.
+     *
+     * @param balloons The store the balloon positions are read from.
+     * @param minX     Smallest x-coordinate covered by the grid.
+     * @param minY     Smallest y-coordinate covered by the grid.
+     * @param maxX     Largest x-coordinate covered by the grid.
+     * @param maxY     Largest y-coordinate covered by the grid.
+     * @param cellSize Width and height of each cell in pixels.
+     */
+    public BalloonGrid(BalloonStore balloons, int minX, int minY, int maxX, int maxY, int cellSize) {
+        this.balloons = balloons;
+        this.originX = minX;
+        this.originY = minY;
+        this.cellSize = cellSize;
+        this.columns = (maxX - minX) / cellSize + 1;
+        this.rows = (maxY - minY) / cellSize + 1;
+        this.cellHeads = new int[columns * rows];
+        Arrays.fill(cellHeads, -1);
+    }
+
+    /**
+     * Adds a balloon to the cell containing its center.
+     *
+     * @param id The id of the balloon to add.
+     */
+    public void insert(int id) {
+        int index = BalloonStore.indexOf(id);
+        if (index >= cellOfBalloon.length) {
+            int length = Math.max(index + 1, balloons.getIdCapacity());
+            int oldLength = cellOfBalloon.length;
+            cellOfBalloon = Arrays.copyOf(cellOfBalloon, length);
+            prev = Arrays.copyOf(prev, length);
+            next = Arrays.copyOf(next, length);
+            Arrays.fill(cellOfBalloon, oldLength, length, -1);
+        }
+        link(id, cellOf(balloons.getCenterX(id), balloons.getCenterY(id)));
+    }
+
+    /**
+     * Removes a balloon from the grid. Does nothing if the balloon is not in the grid.
+     *
+     * @param id The id of the balloon to remove.
+     */
+    public void remove(int id) {
+        int index = BalloonStore.indexOf(id);
+        if (index < cellOfBalloon.length && cellOfBalloon[index] >= 0) {
+            unlink(id);
+        }
+    }
+
+    /**
+     * Moves a balloon to a different cell if its center crossed a cell boundary since it was
+     * last inserted or updated. Must be called after every position change.
+     *
+     * @param id The id of the balloon that moved.
+     */
+    public void update(int id) {
+        int cell = cellOf(balloons.getCenterX(id), balloons.getCenterY(id));
+        if (cell != cellOfBalloon[BalloonStore.indexOf(id)]) {
+            remove(id);
+            link(id, cell);
+        }
+    }
+
+    /**
+     * Removes every balloon from the grid.
+     */
+    public void clear() {
+        Arrays.fill(cellOfBalloon, -1);
+        Arrays.fill(cellHeads, -1);
+    }
+
+    /**
+     * Adds every balloon whose center lies within the given circle to the output list.
+     * Only the cells overlapping the circle are visited. The list is not cleared first.
+     *
+     * @param centerX X-coordinate of the circle's center.
+     * @param centerY Y-coordinate of the circle's center.
+     * @param radius  Radius of the circle.
+     * @param out     The list the ids of the balloons found are added to.
+     */
+    public void queryRadius(double centerX, double centerY, double radius, IntList out) {
+        int minColumn = column(centerX - radius);
+        int maxColumn = column(centerX + radius);
+        int minRow = row(centerY - radius);
+        int maxRow = row(centerY + radius);
+        double radiusSquared = radius * radius;
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                for (int id = cellHeads[r * columns + c]; id >= 0; id = next[BalloonStore.indexOf(id)]) {
+                    double dx = balloons.getCenterX(id) - centerX;
+                    double dy = balloons.getCenterY(id) - centerY;
+                    if (dx * dx + dy * dy <= radiusSquared) {
+                        out.add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the cell containing the given point.
+     */
+    private int cellOf(double x, double y) {
+        return row(y) * columns + column(x);
+    }
+
+    /**
+     * Returns the grid column containing the given x-coordinate, clamped to the grid.
+     */
+    private int column(double x) {
+        int c = (int) Math.floor((x - originX) / cellSize);
+        return Math.max(0, Math.min(columns - 1, c));
+    }
+
+    /**
+     * Returns the grid row containing the given y-coordinate, clamped to the grid.
+     */
+    private int row(double y) {
+        int r = (int) Math.floor((y - originY) / cellSize);
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+
+    /**
+     * Pushes a balloon onto the front of a cell's list.
+     */
+    private void link(int id, int cell) {
+        int index = BalloonStore.indexOf(id);
+        int head = cellHeads[cell];
+        cellOfBalloon[index] = cell;
+        prev[index] = -1;
+        next[index] = head;
+        if (head >= 0) {
+            prev[BalloonStore.indexOf(head)] = id;
+        }
+        cellHeads[cell] = id;
+    }
+
+    /**
+     * Detaches a balloon from its current cell's list.
+     */
+    private void unlink(int id) {
+        int index = BalloonStore.indexOf(id);
+        if (prev[index] >= 0) {
+            next[BalloonStore.indexOf(prev[index])] = next[index];
+        } else {
+            cellHeads[cellOfBalloon[index]] = next[index];
+        }
+        if (next[index] >= 0) {
+            prev[BalloonStore.indexOf(next[index])] = prev[index];
+        }
+        cellOfBalloon[index] = -1;
+    }
+}
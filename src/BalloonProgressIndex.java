@@ -0,0 +1,132 @@
+import java.util.Arrays;
+
+/**
+ * Keeps the balloons on the map sorted by how far along the path they are, so that the
+ * balloon at any rank, or the rank of any path distance, can be found without scanning.
+ * A tower's range covers a few stretches of path distance, which makes the balloons it can
+ * reach a few contiguous runs of this index; the first or last balloon in range is then a
+ * binary search away instead of a scan over every balloon.
+ * Balloons only move forward and rarely overtake one another, so after a tick of movement
+ * the index is almost sorted and an insertion sort restores the order in close to linear time.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class BalloonProgressIndex {
+    private final BalloonStore balloons;
+    private int[] sorted = new int[64];
+    private int size;
+
+    /**
+     * Constructs an empty index over balloons in the given store.
+     *
+     * @param balloons The store the balloons' path distances are read from.
+     */
+    public BalloonProgressIndex(BalloonStore balloons) {
+        this.balloons = balloons;
+    }
+
+    /**
+     * Adds a balloon at the position matching its path distance.
+     *
+     * @param balloon The id of the balloon to add.
+     */
+    public void add(int balloon) {
+        if (size == sorted.length) {
+            sorted = Arrays.copyOf(sorted, size * 2);
+        }
+        int rank = rankOf(balloons.getPathDistance(balloon));
+        System.arraycopy(sorted, rank, sorted, rank + 1, size - rank);
+        sorted[rank] = balloon;
+        size++;
+    }
+
+    /**
+     * Drops the balloons that were popped or reached the end of the path and restores the
+     * ordering after the remaining balloons moved. Must be called once balloons have moved.
+     */
+    public void refresh() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int balloon = sorted[i];
+            if (!balloons.isAlive(balloon)) {
+                continue;
+            }
+            // Insertion sort: shift further balloons up until this one fits
+            double distance = balloons.getPathDistance(balloon);
+            int j = kept - 1;
+            while (j >= 0 && balloons.getPathDistance(sorted[j]) > distance) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = balloon;
+            kept++;
+        }
+        size = kept;
+    }
+
+    /**
+     * Removes every balloon from the index.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the number of balloons in the index.
+     *
+     * @return the number of balloons
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the balloon with the given rank, counting from the balloon least far along
+     * the path.
+     *
+     * @param rank The rank of the balloon, from 0 to {@code size() - 1}.
+     * @return the id of the balloon with that rank
+     */
+    public int get(int rank) {
+        return sorted[rank];
+    }
+
+    /**
+     * Returns the number of balloons that are less than the given distance along the path,
+     * which is also the rank of the first balloon at or beyond that distance.
+     *
+     * @param distance A distance along the path in pixels.
+     * @return the rank of the first balloon at or beyond the distance
+     */
+    public int rankOf(double distance) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (balloons.getPathDistance(sorted[mid]) < distance) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the number of balloons that are at most the given distance along the path.
+     *
+     * @param distance A distance along the path in pixels.
+     * @return the rank just past the last balloon at or before the distance
+     */
+    public int rankAfter(double distance) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (balloons.getPathDistance(sorted[mid]) <= distance) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,610 @@
+import java.util.Arrays;
+
+/**
+ * Holds every balloon on the map in parallel primitive arrays, one entry per balloon:
+ * position, path progress, level, health, speed, type and a byte of status bits.
+ * Moving all balloons is a single pass over a few packed arrays, and a balloon costs a
+ * few dozen bytes instead of a heap object with its own references.
+ * <p>
+ * Entries are kept dense in slots {@code 0 .. size() - 1}. Popped balloons and balloons that
+ * reached the end are only marked during a tick and removed together by {@link #compact()},
+ * which moves the last entry into each freed slot. Because slots move, everything outside the
+ * store refers to a balloon by its id, which stays the same for the balloon's whole life.
+ * <p>
+ * An id is a generational handle: the low bits are an index that is recycled once the balloon
+ * is removed, and the high bits count how often that index has been reused. A tower or
+ * projectile still holding the id of a removed balloon is detected by {@link #contains(int)}
+ * in constant time, even after the index went to a new balloon.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class BalloonStore {
+    /** Status bits stored per balloon. */
+    private static final byte HIDDEN = 1, GOOED = 2, HIT = 4, POPPED = 8, ANIMATE_POP = 16;
+
+    /** Bits of an id holding the index; the remaining bits hold the generation. */
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - INDEX_BITS)) - 1;
+
+    private static final BalloonType[] TYPES = BalloonType.values();
+    private static final BalloonType[] downgradeOrder = {
+            BalloonType.LEAD, BalloonType.MOAB, BalloonType.CERAMIC,
+            BalloonType.RAINBOW, BalloonType.ZEBRA, BalloonType.PINK,
+            BalloonType.YELLOW, BalloonType.GREEN, BalloonType.BLUE, BalloonType.RED
+    };
+
+    private final Waypoints waypoints;
+    private int size;
+
+    /** Per slot values. */
+    private int[] ids;
+    private double[] xs, ys, distances, speeds;
+    /** Position of each balloon before the last move, for drawing between two ticks. */
+    private double[] previousXs, previousYs;
+    private int[] levels, healths;
+    private byte[] types, flags;
+    /** Tick of the first snapshot that showed each balloon's pending pop, or 0 if none did yet. */
+    private long[] popTicks;
+
+    /** Slot and current generation of each id index, and the indexes free for reuse. */
+    private int[] slots, generations;
+    private int[] freeIndexes;
+    private int freeCount, nextIndex;
+
+    /**
+     * Constructs an empty store for balloons following the given path.
+     *
+     * @param waypoints The path balloons follow on the current map.
+     */
+    public BalloonStore(Waypoints waypoints) {
+        this.waypoints = waypoints;
+        resize(64);
+        slots = new int[64];
+        generations = new int[64];
+        freeIndexes = new int[64];
+        Arrays.fill(slots, -1);
+    }
+
+    /**
+     * Adds a new balloon at the start of the path.
+     *
+     * @param level The strength of the balloon, which determines its type, speed and health.
+     * @return the id of the new balloon
+     */
+    public int add(int level) {
+        if (size == ids.length) {
+            resize(size * 2);
+        }
+        int index = freeCount > 0 ? freeIndexes[--freeCount] : nextIndex++;
+        if (index >= slots.length) {
+            int oldLength = slots.length;
+            slots = Arrays.copyOf(slots, oldLength * 2);
+            generations = Arrays.copyOf(generations, oldLength * 2);
+            Arrays.fill(slots, oldLength, slots.length, -1);
+        }
+        int id = (generations[index] << INDEX_BITS) | index;
+
+        int slot = size++;
+        BalloonType type = TYPES[Math.max(0, Math.min(level, TYPES.length - 1))];
+        ids[slot] = id;
+        xs[slot] = waypoints.getXAt(0);
+        ys[slot] = waypoints.getYAt(0);
+        previousXs[slot] = xs[slot];
+        previousYs[slot] = ys[slot];
+        distances[slot] = 0;
+        levels[slot] = level;
+        types[slot] = (byte) type.ordinal();
+        healths[slot] = type.getHealth();
+        speeds[slot] = type.getSpeed();
+        flags[slot] = 0;
+        popTicks[slot] = 0;
+        slots[index] = slot;
+        return id;
+    }
+
+    /**
+     * Moves every balloon that has not reached the end of the path forward by its speed.
+     * Positions come from the arc-length table of the path, so this never allocates.
+     * The positions before the move are kept as the previous positions.
+     */
+    public void move() {
+        double pathLength = waypoints.getPathLength();
+        System.arraycopy(xs, 0, previousXs, 0, size);
+        System.arraycopy(ys, 0, previousYs, 0, size);
+        for (int slot = 0; slot < size; slot++) {
+            if (distances[slot] >= pathLength) {
+                continue;
+            }
+            double distance = Math.min(distances[slot] + speeds[slot], pathLength);
+            distances[slot] = distance;
+            xs[slot] = waypoints.getXAt(distance);
+            ys[slot] = waypoints.getYAt(distance);
+            if (waypoints.isHiddenAt(distance)) {
+                flags[slot] |= HIDDEN;
+            } else {
+                flags[slot] &= ~HIDDEN;
+            }
+        }
+    }
+
+    /**
+     * Removes every popped balloon and every balloon that reached the end of the path.
+     * Each removed entry is replaced by the last entry, so the remaining balloons stay
+     * packed at the front of the arrays. Their id indexes are freed for reuse under a new
+     * generation, so the old ids stop being valid.
+     */
+    public void compact() {
+        for (int slot = size - 1; slot >= 0; slot--) {
+            if (isAlive(ids[slot])) {
+                continue;
+            }
+            int id = ids[slot];
+            int last = --size;
+            if (slot != last) {
+                ids[slot] = ids[last];
+                xs[slot] = xs[last];
+                ys[slot] = ys[last];
+                previousXs[slot] = previousXs[last];
+                previousYs[slot] = previousYs[last];
+                distances[slot] = distances[last];
+                levels[slot] = levels[last];
+                types[slot] = types[last];
+                healths[slot] = healths[last];
+                speeds[slot] = speeds[last];
+                flags[slot] = flags[last];
+                popTicks[slot] = popTicks[last];
+                slots[ids[slot] & INDEX_MASK] = slot;
+            }
+            int index = id & INDEX_MASK;
+            slots[index] = -1;
+            generations[index] = (generations[index] + 1) & GENERATION_MASK;
+            if (freeCount == freeIndexes.length) {
+                freeIndexes = Arrays.copyOf(freeIndexes, freeCount * 2);
+            }
+            freeIndexes[freeCount++] = index;
+        }
+    }
+
+    /**
+     * Removes every balloon. Ids handed out before stay invalid.
+     */
+    public void clear() {
+        for (int slot = 0; slot < size; slot++) {
+            int index = ids[slot] & INDEX_MASK;
+            generations[index] = (generations[index] + 1) & GENERATION_MASK;
+        }
+        size = 0;
+        freeCount = 0;
+        nextIndex = 0;
+        Arrays.fill(slots, -1);
+    }
+
+    /**
+     * @return the number of balloons in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no balloons in the store
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the id of the balloon stored in the given slot. Used to visit every balloon.
+     *
+     * @param slot A slot from 0 to {@code size() - 1}.
+     * @return the id of the balloon in that slot
+     */
+    public int idAt(int slot) {
+        return ids[slot];
+    }
+
+    /**
+     * Returns the index part of a balloon id. Indexes are small and dense, so other classes
+     * can keep per balloon data in arrays indexed by them.
+     *
+     * @param id A balloon id.
+     * @return the index of the id
+     */
+    public static int indexOf(int id) {
+        return id & INDEX_MASK;
+    }
+
+    /**
+     * Returns the length needed by arrays indexed by {@link #indexOf(int)}. Every index
+     * handed out so far is smaller than this.
+     *
+     * @return the index capacity
+     */
+    public int getIdCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Checks whether the given id belongs to a balloon in the store. Ids of removed balloons
+     * are rejected even if their index has been given to a new balloon since.
+     *
+     * @param id A balloon id, or -1.
+     * @return true if the balloon has not been removed yet
+     */
+    public boolean contains(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = id & INDEX_MASK;
+        return index < slots.length && slots[index] >= 0 && generations[index] == id >>> INDEX_BITS;
+    }
+
+    /**
+     * Checks whether a balloon can still be hit: it is neither popped nor at the end of the path.
+     *
+     * @param id A balloon id.
+     * @return true if the balloon is alive
+     */
+    public boolean isAlive(int id) {
+        int slot = slots[id & INDEX_MASK];
+        return (flags[slot] & POPPED) == 0 && distances[slot] < waypoints.getPathLength();
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return the x-coordinate of the balloon on the path, as used for drawing
+     */
+    public double getPathX(int id) {
+        return xs[slots[id & INDEX_MASK]];
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return the y-coordinate of the balloon on the path, as used for drawing
+     */
+    public double getPathY(int id) {
+        return ys[slots[id & INDEX_MASK]];
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return the x-coordinate of the balloon on the path before the last move
+     */
+    public double getPreviousPathX(int id) {
+        return previousXs[slots[id & INDEX_MASK]];
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return the y-coordinate of the balloon on the path before the last move
+     */
+    public double getPreviousPathY(int id) {
+        return previousYs[slots[id & INDEX_MASK]];
+    }
+
+    /**
+     * Returns the X-coordinate of the balloon relative to the map instead of the window.
+     * The path starts on the wood panel, which is 236 pixels wide, while towers measure
+     * their position from the left edge of the map.
+     *
+     * @param id A balloon id.
+     * @return the adjusted X-coordinate
+     */
+    public int getX(int id) {
+        return (int) Math.round(xs[slots[id & INDEX_MASK]]) - 236;
+    }
+
+    /**
+     * Returns the Y-coordinate of the balloon, adjusted by a constant value.
+     *
+     * @param id A balloon id.
+     * @return the adjusted Y-coordinate
+     */
+    public int getY(int id) {
+        return (int) Math.round(ys[slots[id & INDEX_MASK]]) - 6;
+    }
+
+    /**
+     * Returns the X-coordinate of the center of the balloon's image, in the same
+     * coordinates as {@link #getX(int)}. Range and collision checks are measured from here.
+     *
+     * @param id A balloon id.
+     * @return the X-coordinate of the balloon's center
+     */
+    public int getCenterX(int id) {
+        return getX(id) + 13;
+    }
+
+    /**
+     * Returns the Y-coordinate of the center of the balloon's image.
+     *
+     * @param id A balloon id.
+     * @return the Y-coordinate of the balloon's center
+     */
+    public int getCenterY(int id) {
+        return getY(id) + 16;
+    }
+
+    /**
+     * Converts an x-coordinate on the path into the balloon center coordinates used by
+     * {@link #getCenterX(int)}.
+     *
+     * @param pathX an x-coordinate on the path
+     * @return the center x-coordinate of a balloon at that position
+     */
+    public static double toCenterX(double pathX) {
+        return pathX - 236 + 13;
+    }
+
+    /**
+     * Converts a y-coordinate on the path into the balloon center coordinates used by
+     * {@link #getCenterY(int)}.
+     *
+     * @param pathY a y-coordinate on the path
+     * @return the center y-coordinate of a balloon at that position
+     */
+    public static double toCenterY(double pathY) {
+        return pathY - 6 + 16;
+    }
+
+    /**
+     * Returns how far along the path the balloon is. This is the balloon's overall progress,
+     * so balloons further along the path always have a larger value.
+     *
+     * @param id A balloon id.
+     * @return the distance travelled along the path in pixels
+     */
+    public double getPathDistance(int id) {
+        return distances[slots[id & INDEX_MASK]];
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return true if the balloon has reached the end of its path
+     */
+    public boolean hasReachedEnd(int id) {
+        return distances[slots[id & INDEX_MASK]] >= waypoints.getPathLength();
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return level of the balloon 0-9, or -1 once popped
+     */
+    public int getLevel(int id) {
+        return levels[slots[id & INDEX_MASK]];
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return current health of the balloon
+     */
+    public int getHealth(int id) {
+        return healths[slots[id & INDEX_MASK]];
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return the balloon's type
+     */
+    public BalloonType getType(int id) {
+        return TYPES[types[slots[id & INDEX_MASK]]];
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return the current speed of the balloon
+     */
+    public double getSpeed(int id) {
+        return speeds[slots[id & INDEX_MASK]];
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return true if the balloon is hidden, for example inside a tunnel
+     */
+    public boolean isHidden(int id) {
+        return (flags[slots[id & INDEX_MASK]] & HIDDEN) != 0;
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return true if the balloon has no remaining health and level
+     */
+    public boolean isPopped(int id) {
+        return (flags[slots[id & INDEX_MASK]] & POPPED) != 0;
+    }
+
+    /**
+     * @param id A balloon id.
+     * @return true if the balloon was hit by the projectile being processed
+     */
+    public boolean isHit(int id) {
+        return (flags[slots[id & INDEX_MASK]] & HIT) != 0;
+    }
+
+    /**
+     * Sets the hit status of the balloon.
+     *
+     * @param id  A balloon id.
+     * @param hit true if the balloon is hit, false otherwise
+     */
+    public void setHit(int id, boolean hit) {
+        setFlag(slots[id & INDEX_MASK], HIT, hit);
+    }
+
+    /**
+     * Returns whether a snapshot should show the balloon's pop animation. A balloon that lost a
+     * layer keeps showing it in every snapshot until the renderer has taken one of them, so the
+     * pop is not lost when the renderer skips snapshots, and is cleared after that.
+     *
+     * @param id        A balloon id.
+     * @param tick      The tick the snapshot is taken after.
+     * @param takenTick The tick of the latest snapshot the renderer has taken.
+     * @return true if a pop should be animated
+     */
+    public boolean showPopAnimation(int id, long tick, long takenTick) {
+        int slot = slots[id & INDEX_MASK];
+        if ((flags[slot] & ANIMATE_POP) == 0) {
+            return false;
+        }
+        if (popTicks[slot] == 0) {
+            popTicks[slot] = tick;
+        } else if (popTicks[slot] <= takenTick) {
+            setFlag(slot, ANIMATE_POP, false);
+            popTicks[slot] = 0;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Freezes the balloon, stopping its movement.
+     *
+     * @param id A balloon id.
+     */
+    public void freeze(int id) {
+        speeds[slots[id & INDEX_MASK]] = 0;
+    }
+
+    /**
+     * Unfreezes the balloon, restoring its movement speed.
+     *
+     * @param id A balloon id.
+     */
+    public void unfreeze(int id) {
+        int slot = slots[id & INDEX_MASK];
+        speeds[slot] = TYPES[types[slot]].getSpeed();
+    }
+
+    /**
+     * Halves the balloon's speed if it hasn't already been gooed.
+     *
+     * @param id A balloon id.
+     */
+    public void goo(int id) {
+        int slot = slots[id & INDEX_MASK];
+        if ((flags[slot] & GOOED) == 0) {
+            setFlag(slot, GOOED, true);
+            speeds[slot] = speeds[slot] / 2;
+        }
+    }
+
+    /**
+     * Restores the balloon's speed if it was gooed.
+     *
+     * @param id A balloon id.
+     */
+    public void unGoo(int id) {
+        int slot = slots[id & INDEX_MASK];
+        if ((flags[slot] & GOOED) != 0) {
+            setFlag(slot, GOOED, false);
+            speeds[slot] = TYPES[types[slot]].getSpeed();
+        }
+    }
+
+    /**
+     * Reduces the health of the balloon when it is hit by a projectile.
+     * If the balloon's health reaches zero, it decreases in level and animates a popping effect.
+     * If the health is at 0 and level 0 the balloon is marked as popped.
+     *
+     * @param id     A balloon id.
+     * @param damage The amount of damage to deal to the balloon.
+     * @return the number of layers popped, counting the last one
+     */
+    public int takeDamage(int id, int damage) {
+        int slot = slots[id & INDEX_MASK];
+        int layersPopped = 0;
+        while (damage > 0 && levels[slot] > -1) {
+            int currentHealth = healths[slot];
+
+            if (damage >= currentHealth) {
+                // If damage is more than or equal to current health, pop this level
+                damage -= currentHealth;
+                healths[slot] = 0;
+                levels[slot]--;
+                layersPopped++;
+
+                // Set the new type based on the downgraded level
+                if (levels[slot] > -1) {
+                    int currentIndex = getDowngradeIndex(TYPES[types[slot]]);
+                    if (currentIndex < downgradeOrder.length - 1) {
+                        BalloonType newType = downgradeOrder[currentIndex + 1];
+                        types[slot] = (byte) newType.ordinal();
+                        healths[slot] = newType.getHealth();
+                        speeds[slot] = newType.getSpeed();
+                        setFlag(slot, ANIMATE_POP, true);
+                        popTicks[slot] = 0;
+                    }
+                }
+            } else {
+                // If damage is less than the current health, just apply it
+                healths[slot] -= damage;
+                damage = 0;
+            }
+        }
+
+        // If the last level was popped, the balloon is gone
+        if (levels[slot] <= -1) {
+            healths[slot] = 0;
+            setFlag(slot, POPPED, true);
+        }
+        return layersPopped;
+    }
+
+    /**
+     * Returns the index of the given balloon type in the downgrade order.
+     */
+    private static int getDowngradeIndex(BalloonType type) {
+        for (int i = 0; i < downgradeOrder.length; i++) {
+            if (downgradeOrder[i] == type) {
+                return i;
+            }
+        }
+        return downgradeOrder.length - 1; // Default to last if not found
+    }
+
+    /**
+     * Sets or clears a status bit of the balloon in the given slot.
+     */
+    private void setFlag(int slot, byte flag, boolean value) {
+        if (value) {
+            flags[slot] |= flag;
+        } else {
+            flags[slot] &= ~flag;
+        }
+    }
+
+    /**
+     * Grows the per slot arrays to the given capacity.
+     */
+    private void resize(int capacity) {
+        if (ids == null) {
+            ids = new int[capacity];
+            xs = new double[capacity];
+            ys = new double[capacity];
+            previousXs = new double[capacity];
+            previousYs = new double[capacity];
+            distances = new double[capacity];
+            speeds = new double[capacity];
+            levels = new int[capacity];
+            healths = new int[capacity];
+            types = new byte[capacity];
+            flags = new byte[capacity];
+            popTicks = new long[capacity];
+            return;
+        }
+        ids = Arrays.copyOf(ids, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        previousXs = Arrays.copyOf(previousXs, capacity);
+        previousYs = Arrays.copyOf(previousYs, capacity);
+        distances = Arrays.copyOf(distances, capacity);
+        speeds = Arrays.copyOf(speeds, capacity);
+        levels = Arrays.copyOf(levels, capacity);
+        healths = Arrays.copyOf(healths, capacity);
+        types = Arrays.copyOf(types, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        popTicks = Arrays.copyOf(popTicks, capacity);
+    }
+}
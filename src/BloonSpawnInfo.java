@@ -9,7 +9,7 @@ public class BloonSpawnInfo {
     /**
      * The number of Bloons to spawn in this group.
      */
-    private int amount;
+    private final int amount;
 
     /**
      * The strength level of the Bloons.
@@ -47,15 +47,6 @@ public class BloonSpawnInfo {
         return amount;
     }
 
-    /**
-     * Sets the number of Bloons to spawn.
-     *
-     * @param amount the new Bloon amount
-     */
-    public void setAmount(int amount) {
-        this.amount = amount;
-    }
-
     /**
      * Returns the strength level of the Bloons.
      *
@@ -1,6 +1,4 @@
-import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 /**
  * Defines the Bomb Tower, a tower that fires explosive projectiles at balloons.
@@ -17,48 +15,36 @@ public class BombTower extends Tower {
     /**
      * Constructs a BombTower with default properties and image.
      *
-     * @param runGame    the main game window
      * @param currentMap the current map image
      */
-    public BombTower(JFrame runGame, BufferedImage currentMap) {
-        super(runGame, currentMap, "BombTower.png");
-        this.isRotatable = true;
-        this.setFireRate(900);
-        this.setRange(250);
-        this.setProjectileSpeed(15);
-        this.setProjectileDamage(1);
-        this.setTowerImageSize(TowerImageSize.BOMBTOWER);
-        this.setCost(555);
-        towerType = "Bomb";
-        loadProjectileImages();
+    public BombTower(BufferedImage currentMap) {
+        super(currentMap, TowerArchetype.BOMB_TOWER);
     }
 
     /**
      * Fires a bomb projectile toward the target balloon.
      *
-     * @param currentTarget the balloon being targeted
-     * @param projectiles   the list of active projectiles
+     * @param balloons      the balloons on the map
+     * @param currentTarget the id of the balloon being targeted
+     * @param projectiles   the pool of active projectiles
      */
     @Override
-    public void fire(Balloon currentTarget, ArrayList<Projectile> projectiles) {
+    public void fire(BalloonStore balloons, int currentTarget, ProjectilePool projectiles) {
 
         /**Code to find center and angle to balloon provided by CHATGPT and tweaked */
-        double targetX = currentTarget.getX() + 27 / 2.0;
-        double targetY = currentTarget.getY() + 33 / 2.0;
+        double targetX = balloons.getX(currentTarget) + 27 / 2.0;
+        double targetY = balloons.getY(currentTarget) + 33 / 2.0;
 
         double x = this.xPosition + (getImgWidth() / 2.0);
         double y = this.yPosition + (getImgHeight() / 2.0);
 
         double angleRadians = Math.atan2(targetY - y, targetX - x);
 
-        Projectile p = new Projectile(
-                x, y, COLLISION_AREA, projectileSpeed, angleRadians,
-                diameter, currentTarget, 1, false,
-                getProjectileImage(4), ProjectileImageSize.BOMB, getProjectileDamage()
+        projectiles.fire(
+                x, y, COLLISION_AREA, getProjectileSpeed(), angleRadians,
+                getRange(), currentTarget, 1, false,
+                archetype.getProjectileImage(), archetype.getProjectileSize(), getProjectileDamage()
         );
-
-        projectiles.add(p);
-        setFireTimer();
     }
 
 }
@@ -1,6 +1,4 @@
-import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 
 /**
@@ -20,38 +18,26 @@ public class DartMonkey extends Tower {
     /**
      * Constructor for DartMonkey.
      *
-     * @param runGame    The JFrame that runs the game, used for context or parent references.
      * @param currentMap The BufferedImage representing the current game map.
      */
-    public DartMonkey(JFrame runGame, BufferedImage currentMap) {
-        super(runGame, currentMap, "DartMonkey.png");
-
-        /**Set default values for DartMonkey (can be adjusted in subclass or later)*/
-        this.setRotatable(true);
-        this.setFireRate(500);
-        this.setRange(200);
-        this.setProjectileSpeed(23);
-        this.setProjectileDamage(1);
-        this.setTowerImageSize(TowerImageSize.DARTMONKEY);
-        this.setCost(170);
-        towerType = "DartMonkey";
-
-        loadProjectileImages();
+    public DartMonkey(BufferedImage currentMap) {
+        super(currentMap, TowerArchetype.DART_MONKEY);
     }
 
     /**
      * Fires a dart projectile toward the specified target.
      * Calculates trajectory and creates a new projectile, adding it to the projectile list.
      *
-     * @param currentTarget The Balloon object currently targeted by the tower.
-     * @param projectiles   The list to which the new projectile will be added.
+     * @param balloons      The balloons on the map.
+     * @param currentTarget The id of the balloon currently targeted by the tower.
+     * @param projectiles   The pool the new projectile is fired from.
      */
     @Override
-    public void fire(Balloon currentTarget, ArrayList<Projectile> projectiles) {
+    public void fire(BalloonStore balloons, int currentTarget, ProjectilePool projectiles) {
 
         /**Code to find center and angle to balloon provided by CHATGPT and tweaked */
-        double targetX = currentTarget.getX() + 27 / 2.0;
-        double targetY = currentTarget.getY() + 33 / 2.0;
+        double targetX = balloons.getX(currentTarget) + 27 / 2.0;
+        double targetY = balloons.getY(currentTarget) + 33 / 2.0;
 
         double x = this.xPosition + (getImgWidth() / 2.0);
         double y = this.yPosition + (getImgHeight() / 2.0);
@@ -59,15 +45,12 @@ public class DartMonkey extends Tower {
         double angleRadians = Math.atan2(targetY - y, targetX - x);
 
 
-        Projectile p = new Projectile(
-                x, y, COLLISION_AREA, projectileSpeed, angleRadians,
-                diameter, currentTarget, 1, false,
-                getProjectileImage(0), ProjectileImageSize.DART,
+        projectiles.fire(
+                x, y, COLLISION_AREA, getProjectileSpeed(), angleRadians,
+                getRange(), currentTarget, 1, false,
+                archetype.getProjectileImage(), archetype.getProjectileSize(),
                 getProjectileDamage()
         );
-
-        projectiles.add(p);
-        setFireTimer();
     }
 
 }
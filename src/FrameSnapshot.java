@@ -0,0 +1,153 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FrameSnapshot is a copy of everything the renderer needs from one simulation tick, kept in
+ * parallel primitive arrays: where each tower, balloon and projectile is, which sprite it is
+ * drawn with and which way it faces. Balloons and projectiles also keep where they were one tick
+ * earlier, so the renderer can draw them anywhere between the two ticks.
+ * The simulation thread fills a snapshot at the end of a tick and hands it to the renderer
+ * through a {@link SnapshotExchange}; from then on nobody writes to it until the renderer has
+ * given it back, so drawing never has to lock the simulation. Snapshots are reused, and their
+ * arrays only grow, so copying a tick allocates nothing once they have grown to the busiest
+ * moment of a wave.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class FrameSnapshot {
+    /** Number of the tick the snapshot was taken after, counting from 1. */
+    long tick;
+
+    /** The {@link System#nanoTime()} the tick's state belongs to on the simulation's clock. */
+    long time;
+
+    /** How much wall time the tick took at the game's speed, or 0 if ticks ran back to back. */
+    long tickNanos;
+
+    /** {@link GameSimulation#getTowerChanges()} at the time of the tick. */
+    int towerChanges;
+
+    /** Placed towers: top left corner, {@link TowerArchetype} ordinal, angle in radians or NaN if
+     * the tower is not turned, and whether an ice tower is showing its attack. */
+    int towerCount;
+    int[] towerX = new int[16], towerY = new int[16], towerKind = new int[16];
+    double[] towerAngle = new double[16];
+    boolean[] towerAttacking = new boolean[16];
+
+    /** Visible balloons: position on the path now and one tick earlier, level, and whether the
+     * pop animation is shown. */
+    int balloonCount;
+    double[] balloonX = new double[64], balloonY = new double[64];
+    double[] balloonPreviousX = new double[64], balloonPreviousY = new double[64];
+    int[] balloonLevel = new int[64];
+    boolean[] balloonPopping = new boolean[64];
+
+    /** Projectiles in flight: top left corner now and one tick earlier, angle, and
+     * {@link ProjectileImageSize} ordinal. */
+    int projectileCount;
+    double[] projectileX = new double[64], projectileY = new double[64], projectileAngle = new double[64];
+    double[] projectilePreviousX = new double[64], projectilePreviousY = new double[64];
+    int[] projectileKind = new int[64];
+
+    /**
+     * Copies the state of a simulation into this snapshot. Pop and attack animations are shown
+     * in every snapshot until the renderer has taken one that shows them, and then cleared.
+     * Must be called by the thread stepping the simulation.
+     *
+     * @param simulation The simulation to copy.
+     * @param tick       The number of the tick that was just stepped.
+     * @param time       The time the tick's state belongs to, in {@link System#nanoTime()} units.
+     * @param tickNanos  The wall time the tick took, or 0 if ticks run back to back.
+     * @param takenTick  The tick of the latest snapshot the renderer has taken.
+     */
+    void capture(GameSimulation simulation, long tick, long time, long tickNanos, long takenTick) {
+        this.tick = tick;
+        this.time = time;
+        this.tickNanos = tickNanos;
+        BalloonStore balloons = simulation.getBalloons();
+
+        towerChanges = simulation.getTowerChanges();
+        List<Tower> towers = simulation.getTowers();
+        towerCount = towers.size();
+        if (towerX.length < towerCount) {
+            int capacity = Math.max(towerCount, towerX.length * 2);
+            towerX = Arrays.copyOf(towerX, capacity);
+            towerY = Arrays.copyOf(towerY, capacity);
+            towerKind = Arrays.copyOf(towerKind, capacity);
+            towerAngle = Arrays.copyOf(towerAngle, capacity);
+            towerAttacking = Arrays.copyOf(towerAttacking, capacity);
+        }
+        for (int i = 0; i < towerCount; i++) {
+            Tower tower = towers.get(i);
+            towerX[i] = tower.xPosition;
+            towerY[i] = tower.yPosition;
+            towerKind[i] = tower.archetype.ordinal();
+            int target = tower.getTarget();
+            towerAngle[i] = balloons.contains(target) && tower.archetype.isRotatable()
+                    ? Math.toRadians(tower.getAngle(balloons.getX(target), balloons.getY(target)))
+                    : Double.NaN;
+            towerAttacking[i] = tower.showAttackAnimation(tick, takenTick);
+        }
+
+        balloonCount = 0;
+        if (balloonX.length < balloons.size()) {
+            int capacity = Math.max(balloons.size(), balloonX.length * 2);
+            balloonX = Arrays.copyOf(balloonX, capacity);
+            balloonY = Arrays.copyOf(balloonY, capacity);
+            balloonPreviousX = Arrays.copyOf(balloonPreviousX, capacity);
+            balloonPreviousY = Arrays.copyOf(balloonPreviousY, capacity);
+            balloonLevel = Arrays.copyOf(balloonLevel, capacity);
+            balloonPopping = Arrays.copyOf(balloonPopping, capacity);
+        }
+        for (int slot = 0; slot < balloons.size(); slot++) {
+            int balloon = balloons.idAt(slot);
+            if (balloons.isHidden(balloon)) {
+                continue;
+            }
+            balloonX[balloonCount] = balloons.getPathX(balloon);
+            balloonY[balloonCount] = balloons.getPathY(balloon);
+            balloonPreviousX[balloonCount] = balloons.getPreviousPathX(balloon);
+            balloonPreviousY[balloonCount] = balloons.getPreviousPathY(balloon);
+            balloonLevel[balloonCount] = balloons.getLevel(balloon);
+            balloonPopping[balloonCount] = balloons.showPopAnimation(balloon, tick, takenTick);
+            balloonCount++;
+        }
+
+        ProjectilePool projectiles = simulation.getProjectiles();
+        projectileCount = projectiles.size();
+        if (projectileX.length < projectileCount) {
+            int capacity = Math.max(projectileCount, projectileX.length * 2);
+            projectileX = Arrays.copyOf(projectileX, capacity);
+            projectileY = Arrays.copyOf(projectileY, capacity);
+            projectilePreviousX = Arrays.copyOf(projectilePreviousX, capacity);
+            projectilePreviousY = Arrays.copyOf(projectilePreviousY, capacity);
+            projectileAngle = Arrays.copyOf(projectileAngle, capacity);
+            projectileKind = Arrays.copyOf(projectileKind, capacity);
+        }
+        for (int i = 0; i < projectileCount; i++) {
+            Projectile p = projectiles.get(i);
+            projectileX[i] = p.currentX;
+            projectileY[i] = p.currentY;
+            projectilePreviousX[i] = p.previousX;
+            projectilePreviousY[i] = p.previousY;
+            projectileAngle[i] = p.getAngle();
+            projectileKind[i] = p.getType().ordinal();
+        }
+    }
+
+    /**
+     * Returns how far the given moment lies between the previous tick and this one, which is how
+     * far the renderer should move everything from its previous position to its current one.
+     *
+     * @param now The moment drawn, in {@link System#nanoTime()} units.
+     * @return 0 at the time of this tick, up to 1 one tick later, or always 1 if ticks ran back to
+     * back.
+     */
+    double interpolation(long now) {
+        if (tickNanos <= 0) {
+            return 1;
+        }
+        double alpha = (double) (now - time) / tickNanos;
+        return Math.max(0, Math.min(1, alpha));
+    }
+}
@@ -0,0 +1,237 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GameInfoHud draws the health, cash and selected tower information on the wood panels beside
+ * the map. Every piece of text is rendered once into an image and kept until its value changes,
+ * so painting a frame only copies those images. Tower descriptions are read through the
+ * {@link AssetRegistry} and wrapped the first time each tower is shown.
+ * Only use a HUD from the event dispatch thread.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class GameInfoHud {
+    private static final Font HEADER_FONT = new Font("Arial", Font.BOLD, 25);
+    private static final Font DESCRIPTION_FONT = new Font("Arial", Font.PLAIN, 14);
+
+    /** Where the tower description starts and how wide it may get before wrapping. */
+    private static final int DESCRIPTION_X = 960, DESCRIPTION_Y = 360, DESCRIPTION_WIDTH = 205;
+
+    /** Areas covered by the health and cash, and by the tower information, with room for long values. */
+    private static final Rectangle PLAYER_AREA = new Rectangle(0, 115, 330, 100);
+    private static final Rectangle TOWER_AREA = new Rectangle(DESCRIPTION_X, 0, 260, 768);
+
+    private final Image heartsImage, moneySignImage;
+    private final Label healthLabel = new Label(HEADER_FONT);
+    private final Label cashLabel = new Label(HEADER_FONT);
+    private final Label towerNameLabel = new Label(HEADER_FONT);
+    private final Label towerCostLabel = new Label(HEADER_FONT);
+
+    /** Wrapped descriptions by tower name. */
+    private final Map<String, Label> descriptions = new HashMap<>();
+
+    private int shownHealth = Integer.MIN_VALUE, shownCash = Integer.MIN_VALUE, shownTowerCost = Integer.MIN_VALUE;
+    private String shownTowerName;
+    private Label description;
+
+    /**
+     * Constructs a HUD.
+     *
+     * @param heartsImage    The icon drawn next to the health.
+     * @param moneySignImage The icon drawn next to the cash and tower cost.
+     */
+    public GameInfoHud(Image heartsImage, Image moneySignImage) {
+        this.heartsImage = heartsImage;
+        this.moneySignImage = moneySignImage;
+    }
+
+    /**
+     * Draws the HUD, first rendering any text whose value changed since the last frame.
+     *
+     * @param g         The graphics context to draw with.
+     * @param health    The player's health.
+     * @param cash      The player's cash.
+     * @param towerName The name of the tower shown in the side panel, or "Towers" if none.
+     * @param towerCost The cost of the tower shown in the side panel.
+     * @param sprites   The cache the icons are drawn through.
+     * @param gc        The configuration of the screen drawn to, or null if unknown.
+     */
+    public void draw(Graphics g, int health, int cash, String towerName, int towerCost,
+                     SpriteCache sprites, GraphicsConfiguration gc) {
+        update(health, cash, towerName, towerCost);
+        int xOffset = 10;
+
+        // Draw hearts image and health text.
+        sprites.draw(g, heartsImage, xOffset, 180, 30, 30, gc);
+        healthLabel.draw(g, xOffset + 35, 205);
+
+        // Draw money sign image and cash text.
+        sprites.draw(g, moneySignImage, xOffset, 120, 30, 30, gc);
+        cashLabel.draw(g, xOffset + 35, 145);
+
+        towerNameLabel.draw(g, towerName.equals("Towers") ? 1000 : 975, 30);
+        sprites.draw(g, moneySignImage, 1000, 40, 30, 30, gc);
+        towerCostLabel.draw(g, 1035, 65);
+
+        description.draw(g, DESCRIPTION_X, DESCRIPTION_Y);
+    }
+
+    /**
+     * Asks a component the HUD is drawn on to repaint the parts of it that would look different
+     * if the HUD were drawn with these values, and nothing if none of them changed.
+     *
+     * @param component The component the HUD is drawn on.
+     * @param health    The player's health.
+     * @param cash      The player's cash.
+     * @param towerName The name of the tower shown in the side panel, or "Towers" if none.
+     * @param towerCost The cost of the tower shown in the side panel.
+     */
+    public void repaintChanges(JComponent component, int health, int cash, String towerName, int towerCost) {
+        if (health != shownHealth || cash != shownCash) {
+            component.repaint(PLAYER_AREA);
+        }
+        if (towerCost != shownTowerCost || !towerName.equals(shownTowerName)) {
+            component.repaint(TOWER_AREA);
+        }
+    }
+
+    /**
+     * Renders the text of every value that changed.
+     */
+    private void update(int health, int cash, String towerName, int towerCost) {
+        if (health != shownHealth) {
+            shownHealth = health;
+            healthLabel.setText("Health: " + health);
+        }
+        if (cash != shownCash) {
+            shownCash = cash;
+            // Format the cash value with commas for better readability.
+            cashLabel.setText("Cash: $" + String.format("%,d", cash));
+        }
+        if (towerCost != shownTowerCost) {
+            shownTowerCost = towerCost;
+            towerCostLabel.setText(String.valueOf(towerCost));
+        }
+        if (!towerName.equals(shownTowerName)) {
+            shownTowerName = towerName;
+            towerNameLabel.setText(towerName);
+            description = descriptions.get(towerName);
+            if (description == null) {
+                description = new Label(DESCRIPTION_FONT);
+                description.setLines(wrap(loadTowerDescription(towerName), description.metrics, DESCRIPTION_WIDTH));
+                descriptions.put(towerName, description);
+            }
+        }
+    }
+
+    /**
+     * Loads the description of a tower. The description is stored in a text file named after
+     * the tower in the "Info" folder, whose lines are joined into a single string.
+     *
+     * @param towerName The name of the tower whose description is to be loaded.
+     * @return A string containing the description of the tower, or "Description not available." if it could not be read.
+     */
+    public static String loadTowerDescription(String towerName) {
+        String[] lines = AssetRegistry.getText("Info/" + towerName + ".txt");
+        if (lines == null) {
+            return "Description not available.";
+        }
+        StringBuilder description = new StringBuilder();
+        for (String line : lines) {
+            description.append(line).append(" ");
+        }
+        return description.toString().trim();
+    }
+
+    /**
+     * Breaks text into lines that fit within a width, breaking between words.
+     *
+     * @param text     The text to wrap.
+     * @param fm       The metrics of the font the text is drawn with.
+     * @param maxWidth The maximum width allowed for each line.
+     * @return The lines, in order.
+     */
+    private static List<String> wrap(String text, FontMetrics fm, int maxWidth) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : text.split(" ")) {
+            String testLine = line + word + " ";
+            if (fm.stringWidth(testLine) > maxWidth) {
+                lines.add(line.toString());
+                line = new StringBuilder(word + " ");
+            } else {
+                line.append(word).append(" ");
+            }
+        }
+        if (line.length() > 0) {
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * One or more lines of white text in one font, rendered into an image whenever they change.
+     */
+    private static class Label {
+        private final Font font;
+        private final FontMetrics metrics;
+        private BufferedImage image;
+
+        /**
+         * Constructs an empty label.
+         *
+         * @param font The font the text is drawn with.
+         */
+        Label(Font font) {
+            this.font = font;
+            BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = scratch.createGraphics();
+            this.metrics = g.getFontMetrics(font);
+            g.dispose();
+        }
+
+        /**
+         * Renders a single line of text.
+         */
+        void setText(String text) {
+            List<String> lines = new ArrayList<>(1);
+            lines.add(text);
+            setLines(lines);
+        }
+
+        /**
+         * Renders lines of text, each one line height below the one before.
+         */
+        void setLines(List<String> lines) {
+            int width = 1;
+            for (String line : lines) {
+                width = Math.max(width, metrics.stringWidth(line));
+            }
+            int height = Math.max(1, metrics.getHeight() * lines.size());
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = image.createGraphics();
+            g.setFont(font);
+            g.setColor(Color.WHITE);
+            int baseline = metrics.getAscent();
+            for (String line : lines) {
+                g.drawString(line, 0, baseline);
+                baseline += metrics.getHeight();
+            }
+            g.dispose();
+        }
+
+        /**
+         * Draws the label with the baseline of its first line at the given position.
+         */
+        void draw(Graphics g, int x, int baselineY) {
+            if (image != null) {
+                g.drawImage(image, x, baselineY - metrics.getAscent(), null);
+            }
+        }
+    }
+}
@@ -1,26 +1,34 @@
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Random;
 
 /**
  * This class represents the graphical user interface (GUI) for the running game.
- * It handles the display of game elements, such as the map, towers, balloons, and projectiles,
- * and updates their states during the game loop. This is the most important class
- * where all of our components come together to create a functioning game.
+ * It handles the display of game elements, such as the map, towers, balloons, and projectiles.
+ * The game state itself lives in a {@link GameSimulation}, which a {@link SimulationLoop} steps
+ * on a thread of its own. This class draws the snapshots the loop publishes and forwards the
+ * player's input to the simulation.
+ * Swing only repaints what changed since the last frame: where balloons, projectiles and
+ * turning towers were and are now, and the parts of the HUD whose values changed. When nothing
+ * moves, like between waves, nothing is painted at all.
+ * When started with {@code -DactiveRendering=true} the map area is drawn by an
+ * {@link ActiveRenderer} on a render thread of its own, and only the panels beside it are
+ * painted by Swing.
  * @Author: Jace Claassen
  * @Author: Joseph Farrier
  */
 public class GameRunningGUI extends JPanel {
+    /** Whether the map area is drawn by an {@link ActiveRenderer} instead of Swing */
+    private static final boolean ACTIVE_RENDERING = Boolean.getBoolean("activeRendering");
+    private static final TowerArchetype[] ARCHETYPES = TowerArchetype.values();
+    private static final ProjectileImageSize[] PROJECTILE_SIZES = ProjectileImageSize.values();
+    /** Range circles of an attacking ice tower and of the clicked tower */
+    private static final Color ICE_ATTACK_COLOR = new Color(173, 216, 230, 150);
+    private static final Color CLICKED_RANGE_COLOR = new Color(128, 128, 128, 128);
+
     private BufferedImage mapImage, woodTexture, heartsImage, moneySignImage;
     private final int MAP_WIDTH, HEIGHT;
     private final String selectedMap;
@@ -29,26 +37,38 @@ public class GameRunningGUI extends JPanel {
     private final TowerPanel towerPanel;
     private final HomeScreenGUI homeScreenGUI;
     private final Timer gameLoopTimer;
-    private final Waypoints waypoints;
+    private final GameSimulation simulation;
+    private final SimulationLoop simulationLoop;
     private BufferedImage[] balloonImages;
-    private final ArrayList<Balloon> balloons;
-    private final ArrayList<Tower> placedTowers;
-    private final ArrayList<Projectile> curProjectiles;
-    private final ArrayList<Balloon> balloonsToTakeDamage = new ArrayList<>(); //used for bomb tower explosion radius
-    private int currentCash, currentHealth;
-    private WaveManager waveManager;
-    private boolean waveInProgress;
-    private int bloonsRemainingInWave;
-    private JButton playButton, sellButton;
-    private boolean addEndRoundCash;
+    private JButton playButton, sellButton, priorityButton, speedButton;
     private final TowerSelectionButtons towerSelectionButtons;
-    private boolean gameInProgress;
     private boolean promptedForRestart = false;
     private boolean paused;
-    private boolean finalWaveSpawned;
-    private Tower clickedTower = null;
+    private volatile Tower clickedTower = null;
     private final SoundEffect waveThemeSong;
-    private ArrayList<Timer> activeSpawnTimers = new ArrayList<>();
+    private final Random popSoundRandom = new Random();
+    /** Balloon, tower and projectile images prepared at the size and angle they are drawn at */
+    private final SpriteCache sprites = new SpriteCache();
+    /** The map and the wood panels beside it, composited once and copied at the start of each frame */
+    private final BackgroundLayer background;
+    /** Health, cash and tower information, rendered again only when they change */
+    private final GameInfoHud hud;
+    /** The wave the play button currently offers to start, or -1 while a wave is running */
+    private int shownWaveIndex = Integer.MIN_VALUE;
+    /** The snapshot Swing paints the map from and how far between its ticks, chosen by the game loop */
+    private FrameSnapshot frame = new FrameSnapshot();
+    private double frameAlpha;
+    /** What the map was last painted with, to find out what changed since */
+    private long paintedTick = -1;
+    private int paintedTowerChanges = -1;
+    private Tower paintedClickedTower;
+    /** Area covered by everything that moves in the frame painted last, and in the new frame */
+    private Rectangle movingBounds = new Rectangle(), nextMovingBounds = new Rectangle();
+    /** The area repainted this frame, and the map it is clipped to */
+    private final Rectangle dirtyBounds = new Rectangle();
+    private final Rectangle mapBounds;
+    /** Draws the map area when active rendering is on, otherwise null */
+    private final ActiveRenderer activeRenderer;
 
     /**
      * Constructs a new GameRunningGUI object.
@@ -61,32 +81,26 @@ public class GameRunningGUI extends JPanel {
      * @param homeScreenGUI The home screen GUI to navigate back to.
      */
     public GameRunningGUI(RunGame runGame, int width, int height, String selectedMap, HomeScreenGUI homeScreenGUI) {
-        if(runGame.isNateDemo()){
-            currentCash = 100000;
-        } else {
-            currentCash = 1000;
-        }
-        currentHealth = 100;
-
         this.MAP_WIDTH = width;
         this.HEIGHT = height;
+        this.mapBounds = new Rectangle(width / 3, 0, width, height);
         this.selectedMap = selectedMap;
         this.homeScreenGUI = homeScreenGUI;
         this.runGame = runGame;
-        this.waypoints = new Waypoints(selectedMap);
-        this.balloons = new ArrayList<>();
-        this.placedTowers = new ArrayList<>();
-        this.curProjectiles = new ArrayList<>();
-        this.gameInProgress = true;
+        this.simulation = new GameSimulation(selectedMap, runGame.isNateDemo());
+        this.simulationLoop = new SimulationLoop(simulation);
 
         loadImages();
         loadBalloonImages();
 
+        background = createBackground();
+        hud = new GameInfoHud(heartsImage, moneySignImage);
+
         layeredPane = new JLayeredPane();
         layeredPane.setBounds(MAP_WIDTH / 3, 0, 940, HEIGHT);
         add(layeredPane);
 
-        towerPanel = new TowerPanel(layeredPane, placedTowers, this);
+        towerPanel = new TowerPanel(layeredPane, simulation, this);
 
         towerPanel.setBounds(0, 0, 940, 520);
         towerPanel.setOpaque(false);
@@ -100,35 +114,18 @@ public class GameRunningGUI extends JPanel {
                 int x = e.getX() - 14;
                 int y = e.getY() - 14;
 
-                // Initialize closestTower and closestDistance for this click
-                clickedTower = null;
-                double closestDistance = Double.MAX_VALUE;
-
-                // Loop through the list of placed towers
-                for (Tower tower : placedTowers) {
-                    // Assuming Tower has a getPosition() method that returns a Point
-                    Point towerPosition = tower.getPosition();
-                    int towerX = towerPosition.x;
-                    int towerY = towerPosition.y;
-
-                    // Calculate the distance between the mouse click and the tower
-                    double distance = Math.sqrt(Math.pow(x - towerX, 2) + Math.pow(y - towerY, 2));
-
-                    // If the distance is within 30 pixels and smaller than the closest found so far
-                    if (distance <= 40 && distance < closestDistance) {
-                        closestDistance = distance;
-                        clickedTower = tower;  // Set the current tower as the closest one
-                        sellButton.setVisible(true);
-                    }
-                }
+                // Find the closest placed tower to the click, if any
+                clickedTower = simulation.findTowerAt(x, y);
 
                 // If a closest tower is found within the range, do something with it
                 if (clickedTower != null) {
-                    sellButton.setText("Sell: $" + (int) (clickedTower.getCost() * 0.8));
+                    sellButton.setText("Sell: $" + simulation.getSellValue(clickedTower));
                     sellButton.setVisible(true);
+                    priorityButton.setText("Target: " + clickedTower.getPriority().getDisplayName());
+                    priorityButton.setVisible(clickedTower.archetype != TowerArchetype.ICE_TOWER);
                 } else {
-                    clickedTower = null;
                     sellButton.setVisible(false);
+                    priorityButton.setVisible(false);
                 }
             }
         });
@@ -139,15 +136,19 @@ public class GameRunningGUI extends JPanel {
             }
         });
 
-        waveManager = new WaveManager(runGame.isNateDemo());
-        waveInProgress = false;
-        bloonsRemainingInWave = 0;
-
-        towerSelectionButtons = new TowerSelectionButtons(runGame, mapImage, towerPanel, layeredPane, this);
+        towerSelectionButtons = new TowerSelectionButtons(mapImage, towerPanel, layeredPane, this);
         towerSelectionButtons.setBounds(MAP_WIDTH + MAP_WIDTH / 3 + MAP_WIDTH / 12, 80, MAP_WIDTH / 6, HEIGHT / 2);
         add(towerSelectionButtons);
         setLayout(null);
 
+        if (ACTIVE_RENDERING) {
+            // Added last, so the buttons and the tower panel stay on top of it
+            activeRenderer = new ActiveRenderer(this, towerPanel);
+            activeRenderer.setBounds(MAP_WIDTH / 3, 0, MAP_WIDTH, HEIGHT);
+        } else {
+            activeRenderer = null;
+        }
+
         waveThemeSong = new SoundEffect("rickRoll.wav", true,.4F);
         waveThemeSong.stop();
 
@@ -155,7 +156,15 @@ public class GameRunningGUI extends JPanel {
         addResetButton();
         addPauseButton();
         addSellButton();
+        addPriorityButton();
+        addSpeedButton();
         addReturnHomeButton();
+        if (activeRenderer != null) {
+            add(activeRenderer);
+            activeRenderer.start();
+        }
+
+        simulationLoop.start();
 
         // Game loop timer (60 FPS)
         gameLoopTimer = new Timer(16, e -> gameLoop());
@@ -163,104 +172,69 @@ public class GameRunningGUI extends JPanel {
     }
 
     /**
-     * Loads the map and design images from the specified file paths.
+     * Loads the map and design images from the asset registry.
      * If any image fails to load, an error message is printed.
      */
     private void loadImages() {
-        String imagePath = "src/MapImg/" + selectedMap + ".png";
-        try {
-            mapImage = ImageIO.read(new File(imagePath));
-            woodTexture = ImageIO.read(new File("src/DesignImg/WoodTextureOne.jpg"));
-            heartsImage = ImageIO.read(new File("src/DesignImg/hearts.png"));
-            moneySignImage = ImageIO.read(new File("src/DesignImg/moneySign.png"));
-        } catch (IOException e) {
+        String imagePath = "MapImg/" + selectedMap + ".png";
+        mapImage = AssetRegistry.getImage(imagePath);
+        if (mapImage != null) {
+            PlacementMask.forMap(mapImage);
+        } else {
             System.err.println("Failed to load image: " + imagePath);
-            mapImage = null;
         }
+        woodTexture = AssetRegistry.getImage("DesignImg/WoodTextureOne.jpg");
+        heartsImage = AssetRegistry.getImage("DesignImg/hearts.png");
+        moneySignImage = AssetRegistry.getImage("DesignImg/moneySign.png");
+    }
+
+    /**
+     * Creates a layer with the map and the wood texture on both sides of it.
+     *
+     * @return The background layer, which is composited when first drawn.
+     */
+    BackgroundLayer createBackground() {
+        final int WOOD_WIDTH = MAP_WIDTH / 3;
+        BackgroundLayer layer = new BackgroundLayer(MAP_WIDTH + 2 * WOOD_WIDTH, HEIGHT);
+        layer.add(mapImage, WOOD_WIDTH, 0, MAP_WIDTH, HEIGHT);
+        layer.add(woodTexture, 0, 0, WOOD_WIDTH, HEIGHT);
+        layer.add(woodTexture, MAP_WIDTH + WOOD_WIDTH, 0, WOOD_WIDTH, HEIGHT);
+        return layer;
     }
 
     /**
-     * Loads the balloon images from the specified file paths.
+     * Loads the balloon images from the asset registry.
      * If any image fails to load, an error message is printed.
      */
     private void loadBalloonImages() {
         String[] paths = {
-                "src/BalloonImages/redbloon.png",
-                "src/BalloonImages/bluebloon.png",
-                "src/BalloonImages/greenbloon.png",
-                "src/BalloonImages/yellowbloon.png",
-                "src/BalloonImages/pinkbloon.png",
-                "src/BalloonImages/zebrabloon.png",
-                "src/BalloonImages/rainbowbloon.png",
-                "src/BalloonImages/ceramicbloon.png",
-                "src/BalloonImages/moab.png",
-                "src/BalloonImages/metalbloon.png",
-                "src/BalloonImages/pop.png",
+                "BalloonImages/redbloon.png",
+                "BalloonImages/bluebloon.png",
+                "BalloonImages/greenbloon.png",
+                "BalloonImages/yellowbloon.png",
+                "BalloonImages/pinkbloon.png",
+                "BalloonImages/zebrabloon.png",
+                "BalloonImages/rainbowbloon.png",
+                "BalloonImages/ceramicbloon.png",
+                "BalloonImages/moab.png",
+                "BalloonImages/metalbloon.png",
+                "BalloonImages/pop.png",
         };
 
         balloonImages = new BufferedImage[paths.length];
 
         for (int i = 0; i < paths.length; i++) {
-            try {
-                balloonImages[i] = ImageIO.read(new File(paths[i]));
-            } catch (IOException e) {
+            balloonImages[i] = AssetRegistry.getImage(paths[i]);
+            if (balloonImages[i] == null) {
                 System.err.println("Failed to load balloon image: " + paths[i]);
-                balloonImages[i] = null;
             }
         }
     }
 
     /**
-     * Starts the next wave of balloons if the current wave is finished and there are no balloons remaining.
-     */
-    private void startNextWave() {
-        stopAllSpawnTimers();
-        // Only start the wave if the balloons list is empty
-        addEndRoundCash = true;
-        waveInProgress = true;
-
-        Wave currentWave = waveManager.getCurrentWave();
-        bloonsRemainingInWave = 0;
-
-        for (BloonSpawnInfo bloonInfo : currentWave.getBloons()) {
-            bloonsRemainingInWave += bloonInfo.getAmount();
-            spawnBloonsForWave(bloonInfo);
-        }
-        waveManager.nextWave();
-
-    }
-
-    /**
-     * Spawns balloons for the current wave at a specified rate.
-     *
-     * @param bloonInfo The information about the balloons to spawn.
-     */
-    private void spawnBloonsForWave(BloonSpawnInfo bloonInfo) {
-        Timer spawnTimer = new Timer((int) (bloonInfo.getSpawnRate() * 1000), e -> {
-            // Check if there are still balloons left to spawn in this group
-            if (bloonInfo.getAmount() > 0) {
-                // Spawn a balloon and decrement the amount
-                balloons.add(new Balloon(waypoints, balloonImages, bloonInfo.getStrength()));
-                bloonInfo.setAmount(bloonInfo.getAmount() - 1);  // Decrement the amount of balloons
-                bloonsRemainingInWave--;  // Decrement remaining balloons in wave
-            }
-
-            // Check if all balloons have been spawned
-            if (bloonsRemainingInWave <= 0 && balloons.isEmpty()) {
-                ((Timer) e.getSource()).stop(); // Stop the timer once all balloons are spawned
-                if (waveManager.hasNextWave()) {
-                    waveInProgress = false;
-                } else {
-                    finalWaveSpawned = true;
-                }
-            }
-        });
-        spawnTimer.start();  // Start the timer
-        activeSpawnTimers.add(spawnTimer);
-    }
-
-    /**
-     * The main game loop. It updates the game state and repaints the screen at 60 frames per second (FPS).
+     * The main game loop, run 60 times per second. It handles the player's input and the end of the
+     * game, and repaints the parts of the screen that changed. The simulation itself is stepped by
+     * the simulation loop.
      */
     private void gameLoop() {
         if (paused) {
@@ -274,18 +248,20 @@ public class GameRunningGUI extends JPanel {
             if (result != JOptionPane.CLOSED_OPTION) {
                 waveThemeSong.play();
                 paused = false; // Only resume if user actually interacted
+                simulationLoop.setPaused(false);
             }
 
             return; // Always return to skip the loop while paused
         }
 
+        towerPanel.updatePlacement();
         if(towerPanel.isTowerSelected()){
             layeredPane.setSize(940, HEIGHT);
         } else {
             layeredPane.setSize(700, HEIGHT);
         }
 
-        if (finalWaveSpawned && balloons.isEmpty() && !promptedForRestart) {
+        if (simulationLoop.isFinalWaveCleared() && !promptedForRestart) {
             promptedForRestart = true;
             int result = JOptionPane.showConfirmDialog(
                     this,
@@ -301,7 +277,7 @@ public class GameRunningGUI extends JPanel {
             }
         }
 
-        if (!gameInProgress && !promptedForRestart) {
+        if (simulationLoop.isGameOver() && !promptedForRestart) {
             promptedForRestart = true;
             int result = JOptionPane.showConfirmDialog(
                     this,
@@ -317,168 +293,114 @@ public class GameRunningGUI extends JPanel {
             }
         }
 
-        updateGameState();
-        repaint();
+        // Pops are heard from here only, as they happen, however often the map is drawn
+        if (simulationLoop.takePops() > 0) {
+            new SoundEffect("Pop" + (popSoundRandom.nextInt(4) + 1) + ".wav", false, .8f);
+        }
+        updateWaveStatus();
+        hud.repaintChanges(this, simulationLoop.getCurrentHealth(), simulationLoop.getCurrentCash(),
+                towerSelectionButtons.getDisplayTowerName(), towerSelectionButtons.getDisplayTowerCost());
+        // With active rendering the map area is drawn by the render thread
+        if (activeRenderer == null) {
+            repaintMap();
+        }
     }
 
-
     /**
-     * Updates the game state by processing balloons, projectiles, and towers.
-     * This includes moving balloons, checking if they reach the end or are popped,
-     * checking towers' targets, firing projectiles, and applying damage to balloons.
-     * In general takes care of all entity interactions.
+     * Takes the latest snapshot for the next paint and repaints the parts of the map that look
+     * different in it: where anything that moves was painted last and where it is now. The
+     * whole map is repainted when towers were placed or sold, or another tower was clicked.
+     * Nothing is repainted if nothing moved.
      */
-    private void updateGameState() {
-        for (int i = 0; i < balloons.size(); i++) {
-            Balloon balloon = balloons.get(i);
-            balloon.updatePosition();
-
-            // Check if the balloon has reached the end and needs to be removed
-            if (balloon.hasReachedEnd()) {
-                balloons.remove(i);
-                i--; // Decrement index to prevent skipping the next balloon
-                currentHealth -= (balloon.getLevel() + 1);
-            }
-
-            // Check if the balloon has been popped
-            if (balloon.isPopped()) {
-                balloons.remove(i);
-                i--; // Decrement index to prevent skipping the next balloon
-            }
-        }
-        if (currentHealth <= 0) {
-            gameInProgress = false;
+    private void repaintMap() {
+        FrameSnapshot snapshot = simulationLoop.takeSnapshot();
+        double alpha = snapshot.interpolation(System.nanoTime());
+        Tower clickedTower = this.clickedTower;
+        boolean unchanged = snapshot.tick == paintedTick && alpha == frameAlpha
+                && snapshot.towerChanges == paintedTowerChanges && clickedTower == paintedClickedTower;
+        // The previous snapshot may be refilled from now on, so paint the latest one from here
+        frame = snapshot;
+        frameAlpha = alpha;
+        if (unchanged) {
+            return;
         }
 
-        // All towers will check which balloons are in range and target the best one.
-        for (Tower tower : placedTowers) {
-            if (!tower.targets.isEmpty()) {
-                tower.targets.removeIf(b -> !tower.inRange(b));
-            }
-            // Step 1: Invalidate current target if it’s no longer in range
-            Balloon currentTarget = tower.getTarget();
-            if (currentTarget != null && !tower.inRange(currentTarget)) {
-                currentTarget.unGoo();
-                tower.setTarget(null);
-            }
-
-            // Step 2: Try to find a better target
-            Balloon bestTarget = null;
-            for (Balloon balloon : balloons) {
-                if (tower.inRange(balloon) && !balloon.isHidden()) {
-                    if (tower.towerType.equals("Ice")) {
-                        tower.addTarget(balloon);
-                    }
-                    if (bestTarget == null || compareBalloons(balloon, bestTarget) > 0) {
-                        bestTarget = balloon;
-                    }
-                }
-            }
-
-            tower.setTarget(bestTarget);
-
-            // Step 3: Fire if there is a valid target
-            if (tower.getTarget() != null && tower.isReadyToFire()) {
-                tower.fire(tower.getTarget(), curProjectiles);
+        findMovingBounds(snapshot, alpha, nextMovingBounds);
+        if (snapshot.towerChanges != paintedTowerChanges || clickedTower != paintedClickedTower) {
+            repaint(mapBounds);
+        } else if (!movingBounds.isEmpty() || !nextMovingBounds.isEmpty()) {
+            // Union and clip in place, so finding the dirty area allocates nothing
+            dirtyBounds.setBounds(movingBounds.isEmpty() ? nextMovingBounds : movingBounds);
+            if (!nextMovingBounds.isEmpty()) {
+                dirtyBounds.add(nextMovingBounds);
             }
+            Rectangle.intersect(dirtyBounds, mapBounds, dirtyBounds);
+            repaint(dirtyBounds);
         }
+        Rectangle swap = movingBounds;
+        movingBounds = nextMovingBounds;
+        nextMovingBounds = swap;
+        paintedTick = snapshot.tick;
+        paintedTowerChanges = snapshot.towerChanges;
+        paintedClickedTower = clickedTower;
+    }
 
-        // Process projectiles
-        Iterator<Projectile> projectiles = curProjectiles.iterator();
-        while (projectiles.hasNext()) {
-            Projectile p = projectiles.next();
-            p.update();
-            if (p.missed()) {
-                projectiles.remove();
-                continue;
-            }
-
-            // Check if any balloon is hit
-            Iterator<Balloon> balloonIterator = balloons.iterator();
-            while (balloonIterator.hasNext()) {
-                Balloon b = balloonIterator.next();
-                p.didHit(b);
-                if (b.isHit()) {
-                    if(p.getType() == ProjectileImageSize.BOMB){
-                        double explosionRadius = 35.0;
-
-                        // Get the center of the impact (you can also get this from the projectile if it stores it)
-                        double explosionX = b.getX() + 13;
-                        double explosionY = b.getY() + 16;
-
-                        for (Balloon other : balloons) {
-                            double otherX = other.getX() + 13;
-                            double otherY = other.getY() + 16;
-
-                            double distance = Math.hypot(explosionX - otherX, explosionY - otherY);
-
-                            if (distance <= explosionRadius && !other.isHidden()) {
-                                balloonsToTakeDamage.add(other);
-                            }
-                        }
-                    }
-                    p.removeOneFromHitCount();
-                    p.setTracking(false);
-                    if (b.getType() == BalloonType.LEAD) {
-                        // Only allow damage to lead if the projectile is from the wizard
-                        if (p.getType() == ProjectileImageSize.ORB) {
-                            b.takeDamage(229);
-                        }
-                    } else {
-                        // All other balloon types can be damaged by any projectile
-                        b.takeDamage(p.getDamage());
-                    }
-
-                    for (Balloon balloon : balloonsToTakeDamage) {
-                        if(balloon.getType() == BalloonType.LEAD){
-                            balloon.takeDamage(229);
-                        } else {
-                            balloon.takeDamage(p.getDamage());
-                        }
-                        currentCash+=2;
-                    }
-                    balloonsToTakeDamage.clear(); // Clear the list after applying damage
-
-                    currentCash+=2;
-                    // If the balloon is popped, remove it from the list
-                    if (b.isPopped()) {
-                        new SoundEffect("Pop1.wav", false, .8f);
-                        balloonIterator.remove();
-                    } else {
-                        b.gotHit(false);
-                    }
-
-                    if (!p.isStillValid()) {
-                        p.setTracking(false);
-                    }
-                    // If the projectile has no remaining hits, remove it
-                    if (p.getRemainingHits() <= 0) {
-                        projectiles.remove();
-                        break;  // Exit loop after projectile hits its target(s)
-                    }
-                }
+    /**
+     * Finds the area covered by the balloons, projectiles and turning or attacking towers of a
+     * snapshot, drawn as {@link #drawPlayArea} draws them.
+     *
+     * @param snapshot The snapshot to measure.
+     * @param alpha    How far between the snapshot's last two ticks it is drawn.
+     * @param bounds   Set to the area covered, or to an empty rectangle if nothing moves.
+     */
+    private void findMovingBounds(FrameSnapshot snapshot, double alpha, Rectangle bounds) {
+        final int WOOD_WIDTH = MAP_WIDTH / 3;
+        // A negative size makes the first point added the corner of the bounds
+        bounds.setBounds(0, 0, -1, -1);
+        for (int i = 0; i < snapshot.towerCount; i++) {
+            TowerArchetype archetype = ARCHETYPES[snapshot.towerKind[i]];
+            if (!Double.isNaN(snapshot.towerAngle[i])) {
+                // A turned tower stays within the circle through its corners
+                int centerX = snapshot.towerX[i] + WOOD_WIDTH + archetype.getImgWidth() / 2;
+                int centerY = snapshot.towerY[i] + archetype.getImgHeight() / 2;
+                int radius = (int) Math.ceil(Math.hypot(archetype.getImgWidth(), archetype.getImgHeight()) / 2) + 1;
+                addArea(bounds, centerX - radius, centerY - radius, 2 * radius, 2 * radius);
+            } else if (snapshot.towerAttacking[i]) {
+                int xOffset = (archetype.getRange() / 2) - (archetype.getImgWidth() / 2) - 233;
+                int yOffset = (archetype.getRange() / 2) - (archetype.getImgHeight() / 2);
+                addArea(bounds, snapshot.towerX[i] - xOffset, snapshot.towerY[i] - yOffset,
+                        archetype.getRange() + 1, archetype.getRange() + 1);
             }
         }
+        for (int i = 0; i < snapshot.balloonCount; i++) {
+            double previousX = snapshot.balloonPreviousX[i], previousY = snapshot.balloonPreviousY[i];
+            int x = (int) (previousX + (snapshot.balloonX[i] - previousX) * alpha);
+            int y = (int) (previousY + (snapshot.balloonY[i] - previousY) * alpha);
+            // Large enough for every balloon, the pop and the MOAB, as drawn by drawBalloon
+            addArea(bounds, x - 50, y - 25, 100, 50);
+        }
+        for (int i = 0; i < snapshot.projectileCount; i++) {
+            ProjectileImageSize size = PROJECTILE_SIZES[snapshot.projectileKind[i]];
+            int x = (int) (snapshot.projectilePreviousX[i] + (snapshot.projectileX[i] - snapshot.projectilePreviousX[i]) * alpha);
+            int y = (int) (snapshot.projectilePreviousY[i] + (snapshot.projectileY[i] - snapshot.projectilePreviousY[i]) * alpha);
+            // Projectiles turn around their top left corner
+            int reach = (int) Math.ceil(Math.hypot(size.getWidth(), size.getHeight())) + 1;
+            addArea(bounds, x + WOOD_WIDTH - reach, y - reach, 2 * reach, 2 * reach);
+        }
+        if (bounds.width < 0) {
+            bounds.setBounds(0, 0, 0, 0);
+        }
     }
 
     /**
-     * Compares two balloons to determine which one is the better target.
-     * Balloons are compared based on their segment index and strength.
-     *
-     * @param b1 The first balloon.
-     * @param b2 The second balloon.
-     * @return 1 if b1 is a better target than b2, 0 otherwise.
+     * Grows bounds to cover an area, without creating a rectangle for it.
      */
-    public int compareBalloons(Balloon b1, Balloon b2) {
-        if (b1.getCurrentSegmentIndex() > b2.getCurrentSegmentIndex()) {
-            return 1;
-        } else if (b1.getCurrentSegmentIndex() == b2.getCurrentSegmentIndex() && b1.getLevel() > b2.getLevel()) {
-            return 1;
-        } else {
-            return 0;
-        }
+    private static void addArea(Rectangle bounds, int x, int y, int width, int height) {
+        bounds.add(x, y);
+        bounds.add(x + width, y + height);
     }
 
+
     /**
      * Paints the game components on the screen.
      * This includes drawing the game map, towers, balloons, projectiles, and game info (health, cash).
@@ -489,108 +411,154 @@ public class GameRunningGUI extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g.create();
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+
+        if (activeRenderer == null) {
+            Graphics2D g2d = (Graphics2D) g.create();
+            drawPlayArea(g2d, frame, frameAlpha, sprites, background, gc);
+            g2d.dispose();
+        } else {
+            // Only the wood beside the map shows, the map area is drawn by the render thread
+            background.draw(g, 0, 0, gc);
+        }
+
+        // Draw the game info (health, cash, wave status).
+        drawGameInfo(g, gc);
+    }
+
+    /**
+     * Draws the map with the towers, balloons and projectiles of the latest snapshot on it, in
+     * this panel's coordinates. With active rendering this is called from the render thread, and
+     * also draws the tower being placed, which would otherwise be hidden underneath the render
+     * canvas. Only one thread may draw the play area.
+     *
+     * @param g2d        The graphics context to draw with, which is clipped to the map.
+     * @param sprites    The sprite cache of the surface drawn to.
+     * @param background The background layer of the surface drawn to.
+     * @param gc         The configuration of the screen drawn to, or null if unknown.
+     */
+    void drawPlayArea(Graphics2D g2d, SpriteCache sprites, BackgroundLayer background, GraphicsConfiguration gc) {
+        FrameSnapshot snapshot = simulationLoop.takeSnapshot();
+        // Balloons and projectiles are drawn between the last two ticks, at the point the clock is at
+        drawPlayArea(g2d, snapshot, snapshot.interpolation(System.nanoTime()), sprites, background, gc);
+    }
+
+    /**
+     * Draws the map with the towers, balloons and projectiles of a snapshot on it.
+     *
+     * @param g2d        The graphics context to draw with.
+     * @param snapshot   The snapshot to draw.
+     * @param alpha      How far to draw balloons and projectiles from their previous position to their current one.
+     * @param sprites    The sprite cache of the surface drawn to.
+     * @param background The background layer of the surface drawn to.
+     * @param gc         The configuration of the screen drawn to, or null if unknown.
+     */
+    private void drawPlayArea(Graphics2D g2d, FrameSnapshot snapshot, double alpha, SpriteCache sprites,
+                              BackgroundLayer background, GraphicsConfiguration gc) {
         final int WOOD_WIDTH = MAP_WIDTH / 3;
 
-        // Draw the map image.
-        g.drawImage(mapImage, WOOD_WIDTH, 0, MAP_WIDTH, HEIGHT, this);
+        // Draw the map and the wood texture on both sides of it.
+        background.draw(g2d, 0, 0, gc);
+
+        // Towers, balloons and projectiles only show on the map, not over the wood.
+        g2d.clipRect(WOOD_WIDTH, 0, MAP_WIDTH, HEIGHT);
 
         // Draw each placed tower and its respective hit range (if applicable).
-        for (Tower tower : placedTowers) {
-            int drawX = tower.xPosition + WOOD_WIDTH;
-            int drawY = tower.yPosition;
-            int imgWidth = tower.getImgWidth();
-            int imgHeight = tower.getImgHeight();
+        for (int i = 0; i < snapshot.towerCount; i++) {
+            TowerArchetype archetype = ARCHETYPES[snapshot.towerKind[i]];
+            int drawX = snapshot.towerX[i] + WOOD_WIDTH;
+            int drawY = snapshot.towerY[i];
+            int imgWidth = archetype.getImgWidth();
+            int imgHeight = archetype.getImgHeight();
             // Draw the tower's image, with rotation if it has a target.
-            if (tower.getTarget() != null && tower.isRotatable) {
-                double angle = tower.getAngle(tower.getTarget().getX(), tower.getTarget().getY());
-                AffineTransform originalTransform = g2d.getTransform();
-                g2d.rotate(Math.toRadians(angle), drawX + imgWidth / 2.0, drawY + imgHeight / 2.0);
-                g2d.drawImage(tower.towerImage, drawX, drawY, imgWidth, imgHeight, this);
-                g2d.setTransform(originalTransform);
+            double angle = snapshot.towerAngle[i];
+            if (!Double.isNaN(angle)) {
+                sprites.drawRotated(g2d, archetype.getTowerImage(), imgWidth, imgHeight,
+                        imgWidth / 2.0, imgHeight / 2.0, drawX, drawY, angle, gc);
             } else {
-                g2d.drawImage(tower.towerImage, drawX, drawY, imgWidth, imgHeight, this);
-                if (tower.towerType.equals("Ice") && tower.animateAttack) {
-                    Color color = new Color(173, 216, 230, 150);
-                    g2d.setColor(color);
-                    int xOffset = (tower.getRange() / 2) - (tower.getImgWidth() / 2) - 233;
-                    int yOffset = (tower.getRange() / 2) - (tower.getImgHeight() / 2);
-                    g2d.fillOval(tower.xPosition - xOffset, tower.yPosition - yOffset, tower.getRange(), tower.getRange());
-                    tower.setAnimateAttackFalse();
+                sprites.draw(g2d, archetype.getTowerImage(), drawX, drawY, imgWidth, imgHeight, gc);
+                if (snapshot.towerAttacking[i]) {
+                    g2d.setColor(ICE_ATTACK_COLOR);
+                    int xOffset = (archetype.getRange() / 2) - (imgWidth / 2) - 233;
+                    int yOffset = (archetype.getRange() / 2) - (imgHeight / 2);
+                    g2d.fillOval(snapshot.towerX[i] - xOffset, drawY - yOffset, archetype.getRange(), archetype.getRange());
                 }
             }
         }
+        Tower clickedTower = this.clickedTower;
         if (clickedTower != null) {
-            Color color = new Color(128, 128, 128, 128);
-            g2d.setColor(color);
+            g2d.setColor(CLICKED_RANGE_COLOR);
             int xOffset = (clickedTower.getRange() / 2) - (clickedTower.getImgWidth() / 2) - 233;
             int yOffset = (clickedTower.getRange() / 2) - (clickedTower.getImgHeight() / 2);
             g2d.fillOval(clickedTower.xPosition - xOffset, clickedTower.yPosition - yOffset, clickedTower.getRange(), clickedTower.getRange());
         }
         // Draw balloons.
-        for (Balloon balloon : balloons) {
-            if (!balloon.isHidden()) {
-                balloon.draw(g);
-            }
+        for (int i = 0; i < snapshot.balloonCount; i++) {
+            drawBalloon(g2d, sprites, snapshot, i, alpha, gc);
         }
 
         // Draw projectiles.
-        for (Projectile p : curProjectiles) {
-            double drawX = p.currentX + WOOD_WIDTH;
-            AffineTransform projectileTransform = g2d.getTransform();
-            g2d.rotate(p.getAngle(), (int) drawX, p.currentY);
-            g2d.drawImage(p.getImage(), (int) drawX, (int) p.currentY, p.getWidth(), p.getHeight(), this);
-            g2d.setTransform(projectileTransform);
+        for (int i = 0; i < snapshot.projectileCount; i++) {
+            ProjectileImageSize size = PROJECTILE_SIZES[snapshot.projectileKind[i]];
+            double x = snapshot.projectilePreviousX[i] + (snapshot.projectileX[i] - snapshot.projectilePreviousX[i]) * alpha;
+            double y = snapshot.projectilePreviousY[i] + (snapshot.projectileY[i] - snapshot.projectilePreviousY[i]) * alpha;
+            double drawX = x + WOOD_WIDTH;
+            // Projectiles turn around their top left corner
+            sprites.drawRotated(g2d, TowerArchetype.getProjectileImage(size), size.getWidth(), size.getHeight(), 0, 0,
+                    (int) drawX, (int) y, snapshot.projectileAngle[i], gc);
         }
 
-        // Draw the wood texture on both sides of the map.
-        g.drawImage(woodTexture, 0, 0, WOOD_WIDTH, HEIGHT, this);
-        g.drawImage(woodTexture, MAP_WIDTH + WOOD_WIDTH, 0, WOOD_WIDTH, HEIGHT, this);
-
-        // Draw the game info (health, cash, wave status).
-        drawGameInfo(g);
+        if (activeRenderer != null) {
+            g2d.translate(layeredPane.getX() + towerPanel.getX(), layeredPane.getY() + towerPanel.getY());
+            towerPanel.drawPlacement(g2d);
+        }
     }
 
     /**
-     * Draws the game information (health, cash, and wave status) on the screen.
+     * Renders a balloon between its previous and current position in a snapshot.
+     * Animates the popping effect when the balloon just lost a layer.
      *
-     * @param g The graphics context in which to draw the game info.
+     * @param g        The graphics context used to draw the balloon.
+     * @param sprites  The sprite cache of the surface drawn to.
+     * @param snapshot The snapshot being drawn.
+     * @param balloon  The index of the balloon in the snapshot.
+     * @param alpha    How far to draw the balloon from its previous position to its current one, from 0 to 1.
+     * @param gc       The configuration of the screen drawn to, or null if unknown.
      */
-    private void drawGameInfo(Graphics g) {
-        g.setFont(new Font("Arial", Font.BOLD, 25));
-        g.setColor(Color.WHITE);
-        int xOffset = 10;
-
-        // Format the cash value with commas for better readability.
-        String formattedCash = String.format("%,d", currentCash);
-
-        // Draw hearts image and health text.
-        g.drawImage(heartsImage, xOffset, 180, 30, 30, this); // Image width and height can be adjusted.
-        g.drawString("Health: " + currentHealth, xOffset + 35, 205);
-
-        // Draw money sign image and cash text.
-        g.drawImage(moneySignImage, xOffset, 120, 30, 30, this); // Image width and height can be adjusted.
-        g.drawString("Cash: $" + formattedCash, xOffset + 35, 145);
-
-        if (towerSelectionButtons.getDisplayTowerName().equals("Towers")) {
-            g.drawString(towerSelectionButtons.getDisplayTowerName(), 1000, 30);
+    private void drawBalloon(Graphics g, SpriteCache sprites, FrameSnapshot snapshot, int balloon, double alpha,
+                             GraphicsConfiguration gc) {
+        int level = snapshot.balloonLevel[balloon];
+        if (balloonImages == null || level < 0) {
+            return;
+        }
+        double previousX = snapshot.balloonPreviousX[balloon], previousY = snapshot.balloonPreviousY[balloon];
+        int x = (int) (previousX + (snapshot.balloonX[balloon] - previousX) * alpha);
+        int y = (int) (previousY + (snapshot.balloonY[balloon] - previousY) * alpha);
+        if (snapshot.balloonPopping[balloon]) {
+            sprites.draw(g, balloonImages[balloonImages.length - 1], x - 20, y - 25, 50, 50, gc);
+        } else if (level != 8) {
+            sprites.draw(g, balloonImages[level], x - 10, y - 10, 27, 33, gc);
         } else {
-            g.drawString(towerSelectionButtons.getDisplayTowerName(), 975, 30);
+            sprites.draw(g, balloonImages[level], x - 50, y - 25, 100, 50, gc);
         }
+    }
 
-        g.drawImage(moneySignImage, 1000, 40, 30, 30, this);
-        g.drawString(String.valueOf(towerSelectionButtons.getDisplayTowerCost()), 1035, 65);
-
-        g.setFont(new Font("Arial", Font.PLAIN, 14));
-        String description = loadTowerDescription(towerSelectionButtons.getDisplayTowerName());
-        drawWrappedString(g, description, 960, 360, 205);  // Draw below header, wrap at 180 pixels
+    /**
+     * Draws the game information (health and cash, and the tower shown in the side panel) on the screen.
+     *
+     * @param g  The graphics context in which to draw the game info.
+     * @param gc The configuration of the screen drawn to, or null if unknown.
+     */
+    private void drawGameInfo(Graphics g, GraphicsConfiguration gc) {
+        hud.draw(g, simulationLoop.getCurrentHealth(), simulationLoop.getCurrentCash(),
+                towerSelectionButtons.getDisplayTowerName(), towerSelectionButtons.getDisplayTowerCost(), sprites, gc);
+    }
 
-        // Check if the wave has ended and update the play button text accordingly.
-        if (balloons.isEmpty() && !waveInProgress) {
-            if (addEndRoundCash) {
-                currentCash += 200;
-                addEndRoundCash = false;
-            }
+    /**
+     * Checks if the wave has ended and updates the music and the play button accordingly.
+     */
+    private void updateWaveStatus() {
+        if (!simulationLoop.isWaveInProgress()) {
             if(waveThemeSong.isPlaying()){
                 waveThemeSong.stop();
             }
@@ -598,10 +566,15 @@ public class GameRunningGUI extends JPanel {
                 runGame.mainThemeMusic.play();
             }
 
-            playButton.setText("Start Wave " + (waveManager.getCurrentWaveIndex() + 1));
-            playButton.setEnabled(true);
-            playButton.setVisible(true);
-        } else {
+            int waveIndex = simulationLoop.getCurrentWaveIndex();
+            if (waveIndex != shownWaveIndex) {
+                shownWaveIndex = waveIndex;
+                playButton.setText("Start Wave " + (waveIndex + 1));
+                playButton.setEnabled(true);
+                playButton.setVisible(true);
+            }
+        } else if (shownWaveIndex != -1) {
+            shownWaveIndex = -1;
             playButton.setEnabled(false);
             playButton.setVisible(false);
         }
@@ -611,19 +584,22 @@ public class GameRunningGUI extends JPanel {
      * Adds the play button to the GUI, which starts the next wave when clicked.
      */
     private void addPlayButton() {
-        playButton = new JButton("Start Wave " + (waveManager.getCurrentWaveIndex() + 1));
+        playButton = new JButton("Start Wave " + (simulation.getCurrentWaveIndex() + 1));
         playButton.setFont(new Font("Arial", Font.BOLD, 14));
         playButton.setBounds(80, 10, 140, 40);
         playButton.setFocusPainted(false);
 
         // Add an action listener to start the next wave when clicked.
         playButton.addActionListener(e -> {
-            if (!waveInProgress) {
+            if (!simulationLoop.isWaveInProgress()) {
                 runGame.mainThemeMusic.stop();
                 waveThemeSong.play();
                 //Start game urnning song here
                 new SoundEffect("Click.wav", false, 1f);
-                startNextWave();
+                synchronized (simulation) {
+                    simulation.startNextWave();
+                    simulationLoop.refreshStatus();
+                }
             }
         });
 
@@ -665,6 +641,7 @@ public class GameRunningGUI extends JPanel {
             new SoundEffect("Click.wav", false, 1f);
             waveThemeSong.stop();
             paused = true;
+            simulationLoop.setPaused(true);
         });
 
         add(pauseButton);
@@ -688,10 +665,13 @@ public class GameRunningGUI extends JPanel {
         sellButton.addActionListener(e -> {
             new SoundEffect("Sell.wav", false, 1f);
             if (clickedTower != null) {
-                currentCash += (int) (clickedTower.getCost() * 0.8);
-                placedTowers.remove(clickedTower);
+                synchronized (simulation) {
+                    simulation.sellTower(clickedTower);
+                    simulationLoop.refreshStatus();
+                }
                 clickedTower = null;
                 sellButton.setVisible(false);
+                priorityButton.setVisible(false);
                 repaint(); // Refresh display
             }
         });
@@ -699,6 +679,69 @@ public class GameRunningGUI extends JPanel {
         add(sellButton);
     }
 
+    /**
+     * When a tower is clicked the target button will appear below the sell button.
+     * Each click cycles which balloon in range the tower shoots at.
+     */
+    private void addPriorityButton() {
+        priorityButton = new JButton("Target: First");
+        priorityButton.setFont(new Font("Arial", Font.BOLD, 14));
+        priorityButton.setBounds(47, 350, 140, 40); // Position on screen
+        priorityButton.setFocusPainted(false);
+        priorityButton.setContentAreaFilled(true);
+        priorityButton.setOpaque(true);
+        priorityButton.setBackground(new Color(153, 204, 255)); // Light blue
+        priorityButton.setVisible(false); // Initially hidden
+
+        priorityButton.addActionListener(e -> {
+            new SoundEffect("Click.wav", false, 1f);
+            Tower tower = clickedTower;
+            if (tower != null) {
+                TargetPriority priority = tower.getPriority().next();
+                // The simulation thread reads the priority while it picks targets
+                synchronized (simulation) {
+                    tower.setPriority(priority);
+                }
+                priorityButton.setText("Target: " + priority.getDisplayName());
+            }
+        });
+
+        add(priorityButton);
+    }
+
+
+    /**
+     * Adds the speed button below the player's health. Each click cycles how fast the game
+     * runs: 1x, 2x, 4x, and as fast as the computer can.
+     */
+    private void addSpeedButton() {
+        speedButton = new JButton("Speed: " + simulationLoop.getSpeed().getDisplayName());
+        speedButton.setFont(new Font("Arial", Font.BOLD, 14));
+        speedButton.setBounds(47, 240, 140, 40); // Position on screen
+        speedButton.setFocusPainted(false);
+        speedButton.setContentAreaFilled(true);
+        speedButton.setOpaque(true);
+        speedButton.setBackground(new Color(255, 204, 102)); // Light orange
+
+        speedButton.addActionListener(e -> {
+            new SoundEffect("Click.wav", false, 1f);
+            GameSpeed speed = simulationLoop.getSpeed().next();
+            simulationLoop.setSpeed(speed);
+            speedButton.setText("Speed: " + speed.getDisplayName());
+        });
+
+        add(speedButton);
+    }
+
+    /**
+     * Returns whether the simulation is running ticks back to back, in which case the map is
+     * drawn at a reduced frame rate.
+     *
+     * @return true while running at maximum speed during a wave
+     */
+    boolean isRunningFlatOut() {
+        return simulationLoop.isRunningFlatOut();
+    }
 
     /**
      * Adds a return home button to the GUI.
@@ -732,12 +775,18 @@ public class GameRunningGUI extends JPanel {
     }
 
     /**
-     * Handles returning to the home screen. Stops the game loop and switches to the home screen GUI.
+     * Handles returning to the home screen. Stops the game loop, the simulation and the render
+     * thread, releases the cached sprites and background layer and switches to the home screen GUI.
      */
     private void returnHome() {
-        stopAllSpawnTimers();
         gameLoopTimer.stop();
+        simulationLoop.stop();
+        if (activeRenderer != null) {
+            activeRenderer.stop();
+        }
         waveThemeSong.stop();
+        sprites.flush();
+        background.flush();
         runGame.mainThemeMusic.play();
         runGame.setSize(1024, 768);
         runGame.setContentPane(homeScreenGUI);
@@ -752,112 +801,36 @@ public class GameRunningGUI extends JPanel {
      * @return The current cash amount.
      */
     public int getCurrentCash() {
-        return currentCash;
+        return simulationLoop.getCurrentCash();
     }
 
     /**
-     * Sets the current cash by subtracting the specified amount from the player's cash.
+     * Places a tower on the map and charges the player for it.
      *
-     * @param cash The amount of cash to subtract from the current cash.
+     * @param tower The tower being placed.
+     * @param x     The x-coordinate of the tower on the map.
+     * @param y     The y-coordinate of the tower on the map.
      */
-    public void setCurrentCash(int cash) {
-        currentCash -= cash;
+    public void placeTower(Tower tower, int x, int y) {
+        synchronized (simulation) {
+            simulation.placeTower(tower, x, y);
+            simulationLoop.refreshStatus();
+        }
     }
 
     /**
      * Resets all important values to the game. Essentially restarting it.
      */
     private void restartGame() {
-        this.balloons.clear();
-        this.placedTowers.clear();
-        this.curProjectiles.clear();
-        this.currentHealth = 100;
+        synchronized (simulation) {
+            simulation.reset();
+            simulationLoop.refreshStatus();
+        }
         this.clickedTower = null;
-        waveManager = new WaveManager(runGame.isNateDemo());
-        waveInProgress = false;
-        gameInProgress = true;
+        sellButton.setVisible(false);
+        priorityButton.setVisible(false);
         promptedForRestart = false;
-        finalWaveSpawned = false;
-        addEndRoundCash = false;
         waveThemeSong.stop();
         runGame.mainThemeMusic.play();
-        stopAllSpawnTimers();
-        if (runGame.isNateDemo()) {
-            currentCash = 100000;
-        } else {
-            currentCash = 1000;
-        }
-    }
-
-    /**
-     * Loads the description of a tower from a text file.
-     * The description is expected to be stored in a file with the name matching the tower's name,
-     * located in the "src/Info/" directory. The content of the file is read line by line and concatenated
-     * into a single string.
-     *
-     * @param towerName The name of the tower whose description is to be loaded.
-     * @return A string containing the description of the tower, or "Description not available" if an error occurs.
-     */
-    public String loadTowerDescription(String towerName) {
-        StringBuilder description = new StringBuilder();
-        try {
-            File file = new File("src/Info/" + towerName + ".txt");
-            BufferedReader reader = new BufferedReader(new FileReader(file));
-            String line;
-            while ((line = reader.readLine()) != null) {
-                description.append(line).append(" ");
-            }
-            reader.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-            return "Description not available.";
-        }
-        return description.toString().trim();
-    }
-
-    /**
-     * Draws a string of text that wraps within a specified width, breaking lines where necessary.
-     * The text is drawn starting from the specified coordinates (x, y), and each line will be
-     * drawn on a new line if it exceeds the given maximum width.
-     *
-     * @param g The Graphics object used for drawing the text.
-     * @param text The string of text to be wrapped and drawn.
-     * @param x The x-coordinate where the text will start being drawn.
-     * @param y The y-coordinate where the text will start being drawn.
-     * @param maxWidth The maximum width allowed for each line of text before wrapping to the next line.
-     */
-    private void drawWrappedString(Graphics g, String text, int x, int y, int maxWidth) {
-        FontMetrics fm = g.getFontMetrics();
-        int lineHeight = fm.getHeight();
-
-        String[] words = text.split(" ");
-        StringBuilder line = new StringBuilder();
-        int curY = y;
-
-        for (String word : words) {
-            String testLine = line + word + " ";
-            int lineWidth = fm.stringWidth(testLine);
-            if (lineWidth > maxWidth) {
-                g.drawString(line.toString(), x, curY);
-                line = new StringBuilder(word + " ");
-                curY += lineHeight;
-            } else {
-                line.append(word).append(" ");
-            }
-        }
-        // Draw the last line
-        if (!line.toString().isEmpty()) {
-            g.drawString(line.toString(), x, curY);
-        }
-    }
-
-    /**
-     * Method to stop all the active spawn timers
-     */
-    public void stopAllSpawnTimers() {
-        for (Timer t : activeSpawnTimers) {
-            t.stop();
-        }
-        activeSpawnTimers.clear();
     }
 }
@@ -0,0 +1,579 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GameSimulation is the headless core of a running game. It owns the balloons, the placed
+ * towers, the projectiles in flight and the player's economy, and advances all of them by
+ * one fixed tick every time {@link #step()} is called. Nothing in here touches Swing, so a
+ * simulation can be stepped as fast as the CPU allows with {@code java.awt.headless=true};
+ * {@link GameRunningGUI} only renders it and forwards player input to it.
+ * Once its stores and pools have grown to the busiest moment of a wave, a step allocates
+ * nothing; {@link AllocationBudgetCheck} guards that.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class GameSimulation {
+    /** Length of a single simulation tick in milliseconds (the old 60 FPS game loop period). */
+    public static final int TICK_MILLIS = 16;
+
+    private static final int STARTING_HEALTH = 100;
+    private static final int STARTING_CASH = 1000;
+    private static final int NATE_DEMO_CASH = 100000;
+    private static final int END_ROUND_CASH = 200;
+    private static final int POP_CASH = 2;
+    private static final double SELL_REFUND = 0.8;
+    private static final int TOWER_CLICK_RADIUS = 40;
+
+    /** How far apart two towers must be placed along each axis. */
+    private static final int TOWER_SPACING = 20;
+    private static final double EXPLOSION_RADIUS = 35.0;
+
+    /** Area and cell size of the balloon grid, in the coordinates towers are placed in. */
+    private static final int GRID_WIDTH = 700, GRID_HEIGHT = 520, GRID_CELL_SIZE = 64;
+
+    private final Waypoints waypoints;
+    private final boolean nateDemo;
+    private final BalloonStore balloons;
+    private final ArrayList<Tower> placedTowers = new ArrayList<>();
+    private final TowerGrid towerGrid = new TowerGrid(0, 0, GRID_WIDTH, GRID_HEIGHT, GRID_CELL_SIZE);
+    private final ProjectilePool projectiles = new ProjectilePool();
+    private final BalloonGrid balloonGrid;
+    private final BalloonProgressIndex progressIndex;
+    private final double[] wholePath;
+    private final IntList nearbyBalloons = new IntList(); //reused for grid queries
+    private final IntList balloonsToTakeDamage = new IntList(); //used for bomb tower explosion radius
+    private WaveManager waveManager;
+    private int currentCash, currentHealth;
+    private boolean waveInProgress;
+    private boolean finalWaveCleared;
+    private int popsLastStep;
+    /** Counts every change to the placed towers, so a renderer can tell when they changed */
+    private int towerChanges;
+
+    /** Spawn timeline of the wave in progress, the next spawn in it and the wave's game clock. */
+    private SpawnTimeline spawnTimeline = SpawnTimeline.EMPTY;
+    private int spawnCursor;
+    private double waveClock;
+
+    /**
+     * Constructs a new simulation for the given map.
+     *
+     * @param mapName  The name of the map being played, used to load its waypoints.
+     * @param nateDemo Whether the demo waves and demo starting cash should be used.
+     */
+    public GameSimulation(String mapName, boolean nateDemo) {
+        this.waypoints = new Waypoints(mapName);
+        this.nateDemo = nateDemo;
+        this.wholePath = new double[]{0, waypoints.getPathLength()};
+        this.balloons = new BalloonStore(waypoints);
+        this.balloonGrid = new BalloonGrid(balloons, 0, 0, GRID_WIDTH, GRID_HEIGHT, GRID_CELL_SIZE);
+        this.progressIndex = new BalloonProgressIndex(balloons);
+        reset();
+    }
+
+    /**
+     * Resets all important values to the beginning of the game. All towers, balloons and
+     * projectiles are removed, the waves start over and health and cash are restored.
+     */
+    public void reset() {
+        balloonGrid.clear();
+        balloons.clear();
+        progressIndex.clear();
+        placedTowers.clear();
+        towerGrid.clear();
+        towerChanges++;
+        projectiles.clear();
+        waveManager = new WaveManager(nateDemo);
+        currentHealth = STARTING_HEALTH;
+        currentCash = nateDemo ? NATE_DEMO_CASH : STARTING_CASH;
+        waveInProgress = false;
+        finalWaveCleared = false;
+        popsLastStep = 0;
+        spawnTimeline = SpawnTimeline.EMPTY;
+        spawnCursor = 0;
+        waveClock = 0;
+    }
+
+    /**
+     * Starts the next wave of balloons. Does nothing while a wave is still in progress.
+     */
+    public void startNextWave() {
+        if (waveInProgress) {
+            return;
+        }
+        startTimeline(waveManager.getCurrentWave().getSpawnTimeline());
+        waveManager.nextWave();
+    }
+
+    /**
+     * Runs the wave at the given index again without advancing to the next wave, which lets
+     * balance runs repeat a wave as often as they like. Does nothing while a wave is in progress.
+     *
+     * @param waveIndex The index of the wave to replay.
+     */
+    public void replayWave(int waveIndex) {
+        if (waveInProgress) {
+            return;
+        }
+        startTimeline(waveManager.getWave(waveIndex).getSpawnTimeline());
+    }
+
+    /**
+     * Starts spawning the given timeline from its beginning.
+     *
+     * @param timeline The spawn timeline of the wave being started.
+     */
+    private void startTimeline(SpawnTimeline timeline) {
+        waveInProgress = true;
+        spawnTimeline = timeline;
+        spawnCursor = 0;
+        waveClock = 0;
+    }
+
+    /**
+     * Advances the game by one tick. This spawns due balloons, moves balloons along the path,
+     * lets every tower pick a target and fire, moves projectiles and applies their damage,
+     * removes the balloons that were popped or left the map, and finally checks whether the
+     * current wave has been cleared.
+     */
+    public void step() {
+        popsLastStep = 0;
+        if (isGameOver()) {
+            return;
+        }
+        spawnBalloons();
+        updateBalloons();
+        updateTowers();
+        updateProjectiles();
+        removeDeadBalloons();
+        checkWaveCleared();
+    }
+
+    /**
+     * Advances the wave clock by one tick and spawns every balloon in the timeline that is due,
+     * which can be several per tick for dense waves.
+     */
+    private void spawnBalloons() {
+        if (spawnCursor >= spawnTimeline.size()) {
+            return;
+        }
+        waveClock += TICK_MILLIS;
+        while (spawnCursor < spawnTimeline.size() && spawnTimeline.getSpawnTime(spawnCursor) <= waveClock) {
+            int balloon = balloons.add(spawnTimeline.getStrength(spawnCursor));
+            balloonGrid.insert(balloon);
+            progressIndex.add(balloon);
+            spawnCursor++;
+        }
+    }
+
+    /**
+     * Moves every balloon along the path. Balloons that reach the end cost the player one
+     * health per layer and are removed at the end of the tick.
+     */
+    private void updateBalloons() {
+        balloons.move();
+        for (int slot = 0; slot < balloons.size(); slot++) {
+            int balloon = balloons.idAt(slot);
+            balloonGrid.update(balloon);
+            if (balloons.hasReachedEnd(balloon)) {
+                currentHealth -= (balloons.getLevel(balloon) + 1);
+            }
+        }
+        progressIndex.refresh();
+    }
+
+    /**
+     * Removes the balloons that were popped this tick or reached the end of the path from the
+     * grid, the progress index and finally the store, which packs the survivors together.
+     */
+    private void removeDeadBalloons() {
+        for (int slot = 0; slot < balloons.size(); slot++) {
+            int balloon = balloons.idAt(slot);
+            if (!balloons.isAlive(balloon)) {
+                balloonGrid.remove(balloon);
+            }
+        }
+        progressIndex.refresh();
+        balloons.compact();
+    }
+
+    /**
+     * All towers will check which balloons are in range, target the best one and fire at it.
+     */
+    private void updateTowers() {
+        for (int t = 0; t < placedTowers.size(); t++) {
+            Tower tower = placedTowers.get(t);
+            for (int i = tower.targets.size() - 1; i >= 0; i--) {
+                int target = tower.targets.get(i);
+                if (!balloons.contains(target) || !tower.inRange(balloons, target)) {
+                    tower.targets.removeAt(i);
+                }
+            }
+            // Step 1: Invalidate current target if it’s no longer in range
+            int currentTarget = tower.getTarget();
+            if (balloons.contains(currentTarget) && !tower.inRange(balloons, currentTarget)) {
+                balloons.unGoo(currentTarget);
+            }
+            tower.setTarget(-1);
+
+            // Step 2: Pick the target the tower's priority asks for among the balloons in range
+            if (tower.archetype == TowerArchetype.ICE_TOWER) {
+                addAllTargets(tower);
+            }
+            tower.setTarget(selectTarget(tower));
+
+            // Step 3: Advance the cooldown and fire at the target as often as it allows
+            tower.updateCooldown(TICK_MILLIS, balloons, projectiles);
+        }
+    }
+
+    /**
+     * Moves every projectile, removes the ones that missed and applies damage to the balloons
+     * they hit. Bombs also damage every visible balloon within their explosion radius.
+     * Only balloons in the grid cells around a projectile are tested for collision. Popped
+     * balloons are left in place and removed by {@link #removeDeadBalloons()}.
+     */
+    private void updateProjectiles() {
+        for (int index = 0; index < projectiles.size(); index++) {
+            Projectile p = projectiles.get(index);
+            p.update(balloons);
+            if (p.missed(balloons)) {
+                projectiles.release(index);
+                index--; // The last projectile moved into this index
+                continue;
+            }
+
+            // Check if any balloon near the projectile is hit
+            nearbyBalloons.clear();
+            balloonGrid.queryRadius(p.currentX + 13, p.currentY + 16, p.getHitRadius(), nearbyBalloons);
+            for (int i = 0; i < nearbyBalloons.size(); i++) {
+                int b = nearbyBalloons.get(i);
+                if (!balloons.isAlive(b)) {
+                    continue;
+                }
+                p.didHit(balloons, b);
+                if (balloons.isHit(b)) {
+                    if (p.getType() == ProjectileImageSize.BOMB) {
+                        // Every visible balloon around the center of the impact takes damage
+                        balloonGrid.queryRadius(balloons.getCenterX(b), balloons.getCenterY(b), EXPLOSION_RADIUS, balloonsToTakeDamage);
+                    }
+                    p.removeOneFromHitCount();
+                    p.setTracking(false);
+                    if (balloons.getType(b) == BalloonType.LEAD) {
+                        // Only allow damage to lead if the projectile is from the wizard
+                        if (p.getType() == ProjectileImageSize.ORB) {
+                            popsLastStep += balloons.takeDamage(b, 229);
+                        }
+                    } else {
+                        // All other balloon types can be damaged by any projectile
+                        popsLastStep += balloons.takeDamage(b, p.getDamage());
+                    }
+
+                    for (int j = 0; j < balloonsToTakeDamage.size(); j++) {
+                        int balloon = balloonsToTakeDamage.get(j);
+                        // Balloons popped earlier this tick or past the end of the path stay in the grid until removed
+                        if (!balloons.isAlive(balloon) || balloons.isHidden(balloon)) {
+                            continue;
+                        }
+                        if (balloons.getType(balloon) == BalloonType.LEAD) {
+                            popsLastStep += balloons.takeDamage(balloon, 229);
+                        } else {
+                            popsLastStep += balloons.takeDamage(balloon, p.getDamage());
+                        }
+                        currentCash += POP_CASH;
+                    }
+                    balloonsToTakeDamage.clear(); // Clear the list after applying damage
+
+                    currentCash += POP_CASH;
+                    if (!balloons.isPopped(b)) {
+                        balloons.setHit(b, false);
+                    }
+
+                    if (!p.isStillValid(balloons)) {
+                        p.setTracking(false);
+                    }
+                    // If the projectile has no remaining hits, remove it
+                    if (p.getRemainingHits() <= 0) {
+                        projectiles.release(index);
+                        index--; // The last projectile moved into this index
+                        break;  // Exit loop after projectile hits its target(s)
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Ends the current wave once every balloon has been spawned and none are left on the map.
+     * The player is paid the end of round bonus unless that was the final wave.
+     */
+    private void checkWaveCleared() {
+        if (!waveInProgress || finalWaveCleared || getBloonsRemainingInWave() > 0 || !balloons.isEmpty()) {
+            return;
+        }
+        if (waveManager.hasNextWave()) {
+            waveInProgress = false;
+            currentCash += END_ROUND_CASH;
+        } else {
+            finalWaveCleared = true;
+        }
+    }
+
+    /**
+     * Finds the balloon a tower should shoot at according to its targeting priority.
+     * The tower's coverage intervals are turned into runs of the progress index, so only
+     * balloons on the covered stretches of path are ever looked at; the first and last
+     * balloon in range are found by binary search.
+     *
+     * @param tower The tower looking for a target.
+     * @return the id of the balloon to target, or -1 if no visible balloon is in range.
+     */
+    private int selectTarget(Tower tower) {
+        double[] windows = tower.coverage != null ? tower.coverage : wholePath;
+        switch (tower.getPriority()) {
+            case FIRST:
+                for (int w = windows.length - 2; w >= 0; w -= 2) {
+                    int low = progressIndex.rankOf(windows[w]);
+                    for (int rank = progressIndex.rankAfter(windows[w + 1]) - 1; rank >= low; rank--) {
+                        int balloon = progressIndex.get(rank);
+                        if (isTargetable(tower, balloon)) {
+                            return balloon;
+                        }
+                    }
+                }
+                return -1;
+            case LAST:
+                for (int w = 0; w < windows.length; w += 2) {
+                    int high = progressIndex.rankAfter(windows[w + 1]);
+                    for (int rank = progressIndex.rankOf(windows[w]); rank < high; rank++) {
+                        int balloon = progressIndex.get(rank);
+                        if (isTargetable(tower, balloon)) {
+                            return balloon;
+                        }
+                    }
+                }
+                return -1;
+            default:
+                // Strong and Close have to look at every balloon in range, but nothing else
+                int best = -1;
+                double bestScore = Double.NEGATIVE_INFINITY;
+                for (int w = 0; w < windows.length; w += 2) {
+                    int high = progressIndex.rankAfter(windows[w + 1]);
+                    for (int rank = progressIndex.rankOf(windows[w]); rank < high; rank++) {
+                        int balloon = progressIndex.get(rank);
+                        if (!isTargetable(tower, balloon)) {
+                            continue;
+                        }
+                        double score;
+                        if (tower.getPriority() == TargetPriority.STRONG) {
+                            score = balloons.getLevel(balloon);
+                        } else {
+                            double dx = balloons.getCenterX(balloon) - tower.getCenterX();
+                            double dy = balloons.getCenterY(balloon) - tower.getCenterY();
+                            score = -(dx * dx + dy * dy);
+                        }
+                        // Balloons are visited in path order, so ties go to the one further along
+                        if (score >= bestScore) {
+                            best = balloon;
+                            bestScore = score;
+                        }
+                    }
+                }
+                return best;
+        }
+    }
+
+    /**
+     * Adds every visible balloon in range of the tower to its targets. Used by the ice
+     * tower, which affects all balloons around it at once.
+     *
+     * @param tower The tower collecting targets.
+     */
+    private void addAllTargets(Tower tower) {
+        double[] windows = tower.coverage != null ? tower.coverage : wholePath;
+        for (int w = 0; w < windows.length; w += 2) {
+            int high = progressIndex.rankAfter(windows[w + 1]);
+            for (int rank = progressIndex.rankOf(windows[w]); rank < high; rank++) {
+                int balloon = progressIndex.get(rank);
+                if (isTargetable(tower, balloon)) {
+                    tower.addTarget(balloon);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a tower can shoot at a balloon: it must be visible and in range.
+     */
+    private boolean isTargetable(Tower tower, int balloon) {
+        return !balloons.isHidden(balloon) && tower.inRange(balloons, balloon);
+    }
+
+    /**
+     * Places a tower at the given position and charges the player for it.
+     *
+     * @param tower The tower being placed.
+     * @param x     The x-coordinate of the tower's top left corner on the map.
+     * @param y     The y-coordinate of the tower's top left corner on the map.
+     */
+    public void placeTower(Tower tower, int x, int y) {
+        currentCash -= tower.getCost();
+        tower.setPosition(x, y);
+        tower.computeCoverage(waypoints);
+        placedTowers.add(tower);
+        towerGrid.insert(tower);
+        towerChanges++;
+    }
+
+    /**
+     * Removes a placed tower and refunds 80% of its cost.
+     *
+     * @param tower The tower being sold.
+     */
+    public void sellTower(Tower tower) {
+        if (placedTowers.remove(tower)) {
+            towerGrid.remove(tower);
+            tower.clearCoverage();
+            currentCash += getSellValue(tower);
+            towerChanges++;
+        }
+    }
+
+    /**
+     * Returns a number that changes every time a tower is placed or sold, or the game is reset.
+     *
+     * @return the number of changes made to the placed towers
+     */
+    public int getTowerChanges() {
+        return towerChanges;
+    }
+
+    /**
+     * Returns how much the player receives for selling the given tower.
+     *
+     * @param tower The tower to price.
+     * @return The refund for the tower.
+     */
+    public int getSellValue(Tower tower) {
+        return (int) (tower.getCost() * SELL_REFUND);
+    }
+
+    /**
+     * Finds the placed tower closest to the given map position, if one is close enough to be clicked.
+     *
+     * @param x The x-coordinate on the map.
+     * @param y The y-coordinate on the map.
+     * @return The closest tower within clicking distance, or null if there is none.
+     */
+    public Tower findTowerAt(int x, int y) {
+        return towerGrid.findClosest(x, y, TOWER_CLICK_RADIUS);
+    }
+
+    /**
+     * Checks whether a tower placed at the given position would overlap a placed tower.
+     *
+     * @param x The x-coordinate of the tower's top left corner on the map.
+     * @param y The y-coordinate of the tower's top left corner on the map.
+     * @return True if a placed tower is too close to the position.
+     */
+    public boolean isTowerNear(int x, int y) {
+        return towerGrid.isOccupied(x, y, TOWER_SPACING);
+    }
+
+    /**
+     * Adds every placed tower within the given distance of a map position to the output list.
+     *
+     * @param x      The x-coordinate on the map.
+     * @param y      The y-coordinate on the map.
+     * @param radius The largest distance a tower may be from the position.
+     * @param out    The list the towers found are added to.
+     */
+    public void findTowersNear(int x, int y, double radius, List<Tower> out) {
+        towerGrid.queryRadius(x, y, radius, out);
+    }
+
+    /**
+     * @return the balloons currently on the map
+     */
+    public BalloonStore getBalloons() {
+        return balloons;
+    }
+
+    /**
+     * @return the towers placed on the map
+     */
+    public List<Tower> getTowers() {
+        return placedTowers;
+    }
+
+    /**
+     * @return the projectiles currently in flight
+     */
+    public ProjectilePool getProjectiles() {
+        return projectiles;
+    }
+
+    /**
+     * @return the waypoints balloons follow on this map
+     */
+    public Waypoints getWaypoints() {
+        return waypoints;
+    }
+
+    /**
+     * @return the current amount of cash the player has
+     */
+    public int getCurrentCash() {
+        return currentCash;
+    }
+
+    /**
+     * @return the player's remaining health
+     */
+    public int getCurrentHealth() {
+        return currentHealth;
+    }
+
+    /**
+     * @return the index of the next wave to be started
+     */
+    public int getCurrentWaveIndex() {
+        return waveManager.getCurrentWaveIndex();
+    }
+
+    /**
+     * @return true while a wave is spawning or balloons from it are still alive
+     */
+    public boolean isWaveInProgress() {
+        return waveInProgress;
+    }
+
+    /**
+     * @return the number of balloons of the current wave that have not spawned yet
+     */
+    public int getBloonsRemainingInWave() {
+        return spawnTimeline.size() - spawnCursor;
+    }
+
+    /**
+     * @return true once the final wave has been spawned and cleared
+     */
+    public boolean isFinalWaveCleared() {
+        return finalWaveCleared;
+    }
+
+    /**
+     * @return true once the player has run out of health
+     */
+    public boolean isGameOver() {
+        return currentHealth <= 0;
+    }
+
+    /**
+     * @return the number of balloon layers popped by projectiles during the last step, splash
+     * damage included
+     */
+    public int getPopsLastStep() {
+        return popsLastStep;
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * The {@code GameSpeed} enum defines how fast the game runs compared to real time.
+ * Every speed runs the same simulation ticks, only more of them per second, so spawns,
+ * cooldowns and freeze and goo effects all speed up together. The player cycles through
+ * the speeds with the speed button.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public enum GameSpeed {
+    /** One tick every {@link GameSimulation#TICK_MILLIS}. */
+    NORMAL("1x", 1),
+    /** Two ticks in the time of one. */
+    DOUBLE("2x", 2),
+    /** Four ticks in the time of one. */
+    QUADRUPLE("4x", 4),
+    /** As many ticks as the CPU can run, while a wave is in progress. */
+    MAX("Max", 0);
+
+    /** Time between the frames published and drawn at {@link #MAX} speed, 30 per second. */
+    public static final long REDUCED_FRAME_NANOS = 1_000_000_000L / 30;
+
+    private final String displayName;
+    private final int ticksPerTick;
+
+    /**
+     * Constructs a {@code GameSpeed} enum constant.
+     *
+     * @param displayName  the name shown to the player
+     * @param ticksPerTick the number of ticks run in the time of one, or 0 for no limit
+     */
+    GameSpeed(String displayName, int ticksPerTick) {
+        this.displayName = displayName;
+        this.ticksPerTick = ticksPerTick;
+    }
+
+    /**
+     * Returns the name of the speed shown to the player.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns how much wall time one tick takes at this speed.
+     *
+     * @return the length of a tick in nanoseconds, or 0 if ticks run as fast as possible
+     */
+    public long getTickNanos() {
+        return ticksPerTick == 0 ? 0 : GameSimulation.TICK_MILLIS * 1_000_000L / ticksPerTick;
+    }
+
+    /**
+     * Returns the speed that follows this one when the player cycles through them.
+     *
+     * @return the next speed, wrapping around to {@link #NORMAL}
+     */
+    public GameSpeed next() {
+        GameSpeed[] speeds = values();
+        return speeds[(ordinal() + 1) % speeds.length];
+    }
+}
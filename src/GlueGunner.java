@@ -1,6 +1,4 @@
-import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 /**
  * Description: Implements tower and defines the Dart Monkey.
@@ -16,51 +14,36 @@ public class GlueGunner extends Tower {
     /**
      * Constructor that initializes a GlueGunner tower.
      *
-     * @param runGame    The JFrame for the running game, used for GUI updates.
      * @param currentMap The current game map, used for rendering the tower.
      */
-    public GlueGunner(JFrame runGame, BufferedImage currentMap) {
-        super(runGame, currentMap, "GlueGunner.png");
-
-        // Set default values for the GlueGunner tower (can be overridden if needed)
-        this.setRotatable(true);                // The tower can rotate toward targets
-        this.setFireRate(800);                  // Milliseconds between shots
-        this.setRange(255);                     // Radius within which the tower can target balloons
-        this.setProjectileSpeed(23);            // Speed of the projectile
-        this.setProjectileDamage(1);           // Damage dealt per hit
-        this.setTowerImageSize(TowerImageSize.GLUEGUNNER); // Specific size for the GlueGunner tower image
-        this.setCost(365);
-        towerType = "GlueGunner";
-
-        loadProjectileImages();
+    public GlueGunner(BufferedImage currentMap) {
+        super(currentMap, TowerArchetype.GLUE_GUNNER);
     }
 
     /**
      * Fires a projectile toward the specified balloon target.
      *
-     * @param currentTarget The balloon that the GlueGunner will target.
-     * @param projectiles   The list of active projectiles to which the new projectile will be added.
+     * @param balloons      The balloons on the map.
+     * @param currentTarget The id of the balloon that the GlueGunner will target.
+     * @param projectiles   The pool of active projectiles the new projectile is fired from.
      */
     @Override
-    public void fire(Balloon currentTarget, ArrayList<Projectile> projectiles) {
+    public void fire(BalloonStore balloons, int currentTarget, ProjectilePool projectiles) {
 
         /**Code to find center and angle to balloon provided by CHATGPT and tweaked */
-        double targetX = currentTarget.getX() + 27 / 2.0;
-        double targetY = currentTarget.getY() + 33 / 2.0;
+        double targetX = balloons.getX(currentTarget) + 27 / 2.0;
+        double targetY = balloons.getY(currentTarget) + 33 / 2.0;
 
         double x = this.xPosition + (getImgWidth() / 2.0);
         double y = this.yPosition + (getImgHeight() / 2.0);
 
         double angleRadians = Math.atan2(targetY - y, targetX - x);
 
-        Projectile p = new Projectile(
-                x, y, COLLISION_AREA, projectileSpeed, angleRadians,
-                diameter, currentTarget, 1, false,
-                getProjectileImage(1), ProjectileImageSize.GOO, getProjectileDamage()
+        projectiles.fire(
+                x, y, COLLISION_AREA, getProjectileSpeed(), angleRadians,
+                getRange(), currentTarget, 1, false,
+                archetype.getProjectileImage(), archetype.getProjectileSize(), getProjectileDamage()
         );
-
-        projectiles.add(p);
-        setFireTimer();
     }
 
 }
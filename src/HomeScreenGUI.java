@@ -1,4 +1,3 @@
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -77,11 +76,7 @@ public class HomeScreenGUI extends JPanel {
             }
         });
 
-        try {
-            backgroundImage = ImageIO.read(new File("src/DesignImg/homeScreen.png")); // Replace with your image path
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        backgroundImage = AssetRegistry.getImage("DesignImg/homeScreen.png");
         JButton nateDemoButton = createStyledButton("Nate Demo");
         nateDemoButton.setBounds(20, 20, 220, 70);
         nateDemoButton.addActionListener(new ActionListener() {
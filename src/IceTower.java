@@ -1,7 +1,4 @@
-import javax.swing.*;
-import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 /**
  * Implements the Ice Tower that freezes or unfreezes balloons within range.
@@ -13,34 +10,29 @@ public class IceTower extends Tower {
     /**
      * Constructs an IceTower with preset attributes and image.
      *
-     * @param runGame    the main game window
      * @param currentMap the current map image
      */
-    public IceTower(JFrame runGame, BufferedImage currentMap) {
-        super(runGame, currentMap, "IceTower.png");
-        this.setFireRate(2500);
-        this.setRange(160);
-        this.setTowerImageSize(TowerImageSize.ICETOWER);
-        this.setCost(205);
-        towerType = "Ice";
+    public IceTower(BufferedImage currentMap) {
+        super(currentMap, TowerArchetype.ICE_TOWER);
     }
 
     /**
      * Freezes all balloons in range if not already frozen, or unfreezes if frozen.
      *
+     * @param balloons      the balloons on the map
      * @param currentTarget the balloon being targeted (not directly used)
-     * @param projectiles   the list of active projectiles (not used here)
+     * @param projectiles   the pool of active projectiles (not used here)
      */
     @Override
-    public void fire(Balloon currentTarget, ArrayList<Projectile> projectiles) {
-        animateAttack = true;
-        for (Balloon target : targets) {
-            if (target.getSpeed() == 0) {
-                target.unfreeze();
+    public void fire(BalloonStore balloons, int currentTarget, ProjectilePool projectiles) {
+        animateAttack();
+        for (int i = 0; i < targets.size(); i++) {
+            int target = targets.get(i);
+            if (balloons.getSpeed(target) == 0) {
+                balloons.unfreeze(target);
             } else {
-                target.freeze();
+                balloons.freeze(target);
             }
         }
-        setFireTimer();
     }
 }
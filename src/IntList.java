@@ -0,0 +1,81 @@
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive ints, used to collect balloon ids without boxing them.
+ * The backing array only grows, so a list that is cleared and refilled every tick stops
+ * allocating once it has reached its largest size.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class IntList {
+    private int[] values = new int[16];
+    private int size;
+
+    /**
+     * Appends a value to the end of the list.
+     *
+     * @param value The value to add.
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Returns the value at the given position.
+     *
+     * @param index The position in the list.
+     * @return the value stored there
+     */
+    public int get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Checks whether the list contains the given value.
+     *
+     * @param value The value to look for.
+     * @return true if the value is in the list
+     */
+    public boolean contains(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the value at the given position by moving the last value into its place.
+     * The order of the remaining values is not kept.
+     *
+     * @param index The position to remove.
+     */
+    public void removeAt(int index) {
+        values[index] = values[--size];
+    }
+
+    /**
+     * @return the number of values in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the list holds no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every value from the list, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -1,12 +1,9 @@
 import javax.swing.*;
 import java.awt.*;
 
-import javax.imageio.ImageIO;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 /**
  *The MapSelectionGUI class represents the screen where the player can select a map to play.
  * It displays a map preview, description, and navigation buttons to cycle through available maps.
@@ -177,13 +174,11 @@ public class MapSelectionGUI extends JPanel {
      */
     private void loadMapImage() {
         // Path to the folder containing map images
-        String mapFolderPath = "src/MapImg/";
+        String mapFolderPath = "MapImg/";
         String imagePath = mapFolderPath + mapNames[selectedMapIndex] + ".png";
-        try {
-            mapImage = ImageIO.read(new File(imagePath));  // Read the image from file
-        } catch (IOException e) {
+        mapImage = AssetRegistry.getImage(imagePath);  // Cached by the asset registry
+        if (mapImage == null) {
             System.err.println("Failed to load image: " + imagePath);
-            mapImage = null;  // Set mapImage to null if loading fails
         }
     }
 
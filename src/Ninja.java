@@ -1,6 +1,4 @@
-import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 /**
  * Defines the Ninja tower, which throws fast, rotating projectiles at targets.
@@ -17,47 +15,35 @@ public class Ninja extends Tower {
     /**
      * Constructs a Ninja tower with default properties and image.
      *
-     * @param runGame    the main game window
      * @param currentMap the current map image
      */
-    public Ninja(JFrame runGame, BufferedImage currentMap) {
-        super(runGame, currentMap, "Ninja.png");
-        this.isRotatable = true;
-        this.setFireRate(650);
-        this.setRange(250);
-        this.setProjectileSpeed(17);
-        this.setProjectileDamage(1);
-        this.setTowerImageSize(TowerImageSize.NINJA);
-        this.setCost(425);
-        towerType = "Ninja";
-        loadProjectileImages();
+    public Ninja(BufferedImage currentMap) {
+        super(currentMap, TowerArchetype.NINJA);
     }
 
     /**
      * Fires a high-speed projectile toward a specific target.
      *
-     * @param currentTarget the balloon being targeted
-     * @param projectiles   the list of active projectiles
+     * @param balloons      the balloons on the map
+     * @param currentTarget the id of the balloon being targeted
+     * @param projectiles   the pool of active projectiles
      */
     @Override
-    public void fire(Balloon currentTarget, ArrayList<Projectile> projectiles) {
+    public void fire(BalloonStore balloons, int currentTarget, ProjectilePool projectiles) {
 
         /**Code to find center and angle to balloon provided by CHATGPT and tweaked */
-        double targetX = currentTarget.getX() + 27 / 2.0;
-        double targetY = currentTarget.getY() + 33 / 2.0;
+        double targetX = balloons.getX(currentTarget) + 27 / 2.0;
+        double targetY = balloons.getY(currentTarget) + 33 / 2.0;
 
         double x = this.xPosition + (getImgWidth() / 2.0);
         double y = this.yPosition + (getImgHeight() / 2.0);
 
         double angleRadians = Math.atan2(targetY - y, targetX - x);
 
-        Projectile p = new Projectile(
-                x, y, COLLISION_AREA, projectileSpeed, angleRadians,
-                diameter, currentTarget, 3, true,
-                getProjectileImage(2), ProjectileImageSize.NINJASTAR, getProjectileDamage()
+        projectiles.fire(
+                x, y, COLLISION_AREA, getProjectileSpeed(), angleRadians,
+                getRange(), currentTarget, 3, true,
+                archetype.getProjectileImage(), archetype.getProjectileSize(), getProjectileDamage()
         );
-
-        projectiles.add(p);
-        setFireTimer();
     }
 }
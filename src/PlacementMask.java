@@ -0,0 +1,137 @@
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A summed-area table over the "green" pixels of a map, answering whether a tower may be placed
+ * at a point with four array reads instead of reading every pixel around it.
+ * Entry (x, y) of the table holds the number of green pixels in the rectangle from the top left
+ * corner of the map up to, but not including, column x and row y. The mask is built once per
+ * map image and shared by every tower placed on that map.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class PlacementMask {
+    /** Half the side of the square checked around a tower's center. */
+    public static final int HALF_SIZE = 4;
+
+    /** Most pixels of the square that may be off the grass for the tower to still be placeable. */
+    public static final int MAX_MISSED = 25;
+
+    /** Masks already built, keyed by map image, so towers created later reuse them. */
+    private static final Map<BufferedImage, PlacementMask> MASKS = new WeakHashMap<>();
+
+    private final int width, height;
+
+    /** Green pixel counts, (width + 1) * (height + 1) entries with a zero first row and column. */
+    private final int[] greenSums;
+
+    /**
+     * Builds the summed-area table of the given map.
+     *
+     * @param map The map image to build the mask from.
+     */
+    private PlacementMask(BufferedImage map) {
+        width = map.getWidth();
+        height = map.getHeight();
+        greenSums = new int[(width + 1) * (height + 1)];
+
+        int stride = width + 1;
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            map.getRGB(0, y, width, 1, row, 0, width);
+            int rowSum = 0;
+            for (int x = 0; x < width; x++) {
+                if (isGreen(row[x])) {
+                    rowSum++;
+                }
+                greenSums[(y + 1) * stride + x + 1] = greenSums[y * stride + x + 1] + rowSum;
+            }
+        }
+    }
+
+    /**
+     * Returns the mask of the given map, building it the first time the map is seen.
+     *
+     * @param map The map image.
+     * @return the placement mask of the map
+     */
+    public static synchronized PlacementMask forMap(BufferedImage map) {
+        PlacementMask mask = MASKS.get(map);
+        if (mask == null) {
+            mask = new PlacementMask(map);
+            MASKS.put(map, mask);
+        }
+        return mask;
+    }
+
+    /**
+     * Determines whether a pixel color qualifies as "green" (i.e., valid for tower placement).
+     *
+     * @param red   Red component.
+     * @param green Green component.
+     * @param blue  Blue component.
+     * @return True if the color is considered valid green terrain.
+     */
+    public static boolean isGreen(int red, int green, int blue) {
+        return (green > 80 && (red < 130) && (blue < 81));
+    }
+
+    /**
+     * Determines whether a packed RGB pixel qualifies as "green".
+     *
+     * @param rgb The pixel as returned by {@link BufferedImage#getRGB(int, int)}.
+     * @return True if the color is considered valid green terrain.
+     */
+    public static boolean isGreen(int rgb) {
+        return isGreen((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+    }
+
+    /**
+     * Counts the green pixels in a rectangle of the map. The rectangle must lie inside the map.
+     *
+     * @param minX Leftmost column, inclusive.
+     * @param minY Top row, inclusive.
+     * @param maxX Rightmost column, inclusive.
+     * @param maxY Bottom row, inclusive.
+     * @return the number of green pixels in the rectangle
+     */
+    public int countGreen(int minX, int minY, int maxX, int maxY) {
+        int stride = width + 1;
+        int top = minY * stride, bottom = (maxY + 1) * stride;
+        return greenSums[bottom + maxX + 1] - greenSums[top + maxX + 1]
+                - greenSums[bottom + minX] + greenSums[top + minX];
+    }
+
+    /**
+     * Checks whether a tower centered on the given point stands on grass. The whole square of
+     * {@code 2 * HALF_SIZE + 1} pixels around the point must be on the map, and at most
+     * {@link #MAX_MISSED} of its pixels may be off the grass.
+     *
+     * @param x X-coordinate of the tower center on the map.
+     * @param y Y-coordinate of the tower center on the map.
+     * @return True if the area is valid for placement.
+     */
+    public boolean isPlaceable(int x, int y) {
+        if (x - HALF_SIZE < 0 || x + HALF_SIZE >= width || y - HALF_SIZE < 0 || y + HALF_SIZE >= height) {
+            return false;
+        }
+        int side = 2 * HALF_SIZE + 1;
+        int green = countGreen(x - HALF_SIZE, y - HALF_SIZE, x + HALF_SIZE, y + HALF_SIZE);
+        return side * side - green <= MAX_MISSED;
+    }
+
+    /**
+     * @return the width of the map in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the map in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+}
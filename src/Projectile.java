@@ -1,7 +1,6 @@
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 /**
  * The Projectile class represents a projectile that can be fired by a tower.
@@ -12,22 +11,27 @@ import java.util.Set;
  * @Author: Joseph Farrier
  */
 public class Projectile {
-    public final double startX, startY;
-    public final double damageArea;
+    public double damageArea;
     public double currentX, currentY;
+    /** Position before the last update, for drawing between two ticks. */
+    public double previousX, previousY;
     public double angle;
     public int range;
+    public int remainingTicks;
     public int allowedHits;
     public boolean tracking;
     public double speed;
     protected ProjectileImageSize type;
     protected BufferedImage image;
-    private Set<Balloon> hitBalloons = new HashSet<>();
-    private Balloon currentTarget;
+    /** Ids of the balloons already hit, so a piercing projectile hits each balloon once. */
+    private int[] hitBalloons = new int[4];
+    private int hitCount;
+    private int currentTarget;
     private int damage;
 
     /**
-     * Constructs a new Projectile object.
+     * Launches the projectile from the given position, resetting everything left over from
+     * its previous flight. Projectiles are only created and launched by a {@link ProjectilePool}.
      *
      * @param x               The starting X position of the projectile.
      * @param y               The starting Y position of the projectile.
@@ -35,42 +39,58 @@ public class Projectile {
      * @param speed           The speed at which the projectile moves.
      * @param angle           The angle at which the projectile travels.
      * @param range           The maximum range the projectile can travel.
-     * @param currentTarget   The target balloon for the projectile.
+     * @param currentTarget   The id of the target balloon for the projectile.
      * @param allowedHits     The number of allowed hits before the projectile stops.
      * @param tracking        Whether the projectile tracks a target.
      * @param projectileImage The image representing the projectile.
      * @param type            The type of projectile (e.g., Goo, Dart).
+     * @param damage          The damage dealt to each balloon hit.
      */
-    public Projectile(double x, double y, double damageArea, double speed, double angle,
-                      int range, Balloon currentTarget, int allowedHits,
-                      boolean tracking, BufferedImage projectileImage, ProjectileImageSize type, int damage) {
+    void launch(double x, double y, double damageArea, double speed, double angle,
+                int range, int currentTarget, int allowedHits,
+                boolean tracking, BufferedImage projectileImage, ProjectileImageSize type, int damage) {
         this.currentX = x;
         this.currentY = y;
-        this.startX = x;
-        this.startY = y;
+        this.previousX = x;
+        this.previousY = y;
         this.damageArea = damageArea;
         this.speed = speed;
         this.angle = angle;
         this.range = range;
+        /** A projectile flies 60% of the tower's range; count the ticks that takes once */
+        this.remainingTicks = (int) Math.floor(range * .6 / speed);
         this.currentTarget = currentTarget;
         this.allowedHits = allowedHits;
         this.tracking = tracking;
         this.image = projectileImage;
         this.type = type;
         this.damage = damage;
+        if (hitBalloons.length < allowedHits) {
+            hitBalloons = Arrays.copyOf(hitBalloons, allowedHits);
+        }
+        hitCount = 0;
     }
 
     /**
      * Updates the position of the projectile.
      * If the projectile is tracking a target, it moves toward that target; otherwise, it moves in a straight line.
+     * A tracking projectile whose target was removed keeps flying in a straight line.
+     *
+     * @param balloons The balloons on the map.
      */
-    public void update() {
+    public void update(BalloonStore balloons) {
+        previousX = currentX;
+        previousY = currentY;
+        remainingTicks--;
+        if (tracking && !balloons.contains(currentTarget)) {
+            tracking = false;
+        }
         /** Math for updating angle provided by CHATGPT*/
         if (tracking == false) {
             this.currentX += Math.cos(angle) * speed;
             this.currentY += Math.sin(angle) * speed;
         } else {
-            double angle = projectileAngle(currentTarget);
+            double angle = projectileAngle(balloons, currentTarget);
             this.currentX += Math.cos(angle) * speed;
             this.currentY += Math.sin(angle) * speed;
         }
@@ -79,12 +99,13 @@ public class Projectile {
     /**
      * Calculates the angle (in radians) from the projectile's current position to the target balloon.
      *
-     * @param balloon The balloon to calculate the angle to.
+     * @param balloons The balloons on the map.
+     * @param balloon  The id of the balloon to calculate the angle to.
      * @return The angle in radians between the projectile and the balloon.
      */
-    public double projectileAngle(Balloon balloon) {
-        int balloonX = balloon.getX();
-        int balloonY = balloon.getY();
+    public double projectileAngle(BalloonStore balloons, int balloon) {
+        int balloonX = balloons.getX(balloon);
+        int balloonY = balloons.getY(balloon);
         double projAngle = Math.atan2(balloonY - currentY, balloonX - currentX);
         return projAngle;
     }
@@ -99,52 +120,66 @@ public class Projectile {
     }
 
     /**
-     * Checks if the projectile has exceeded its maximum range.
+     * Checks if the projectile has flown for longer than its range allows.
+     * Ninja stars also miss once their target is gone.
      *
+     * @param balloons The balloons on the map.
      * @return true if the projectile has missed (i.e., exceeded its range), otherwise false.
      */
-    public boolean missed() {
-        if (type == ProjectileImageSize.valueOf("NINJASTAR") && currentTarget.getLevel() <= 0 && currentTarget.getHealth() <= 0) {
+    public boolean missed(BalloonStore balloons) {
+        if (type == ProjectileImageSize.NINJASTAR
+                && (!balloons.contains(currentTarget) || balloons.isPopped(currentTarget))) {
             return true;
         }
-        double dx = Math.abs(currentX - startX);
-        double dy = Math.abs(currentY - startY);
-        double dist = (dx * dx + dy * dy);
-        double maxRange = (range * .6) * (range * .6);
-        return dist > maxRange;
+        return remainingTicks < 0;
     }
 
     /**
      * Checks if the projectile has hit the specified balloon.
      * A projectile can only hit a balloon once.
      *
-     * @param balloon The balloon to check for collision.
+     * @param balloons The balloons on the map.
+     * @param balloon  The id of the balloon to check for collision.
      * @return true if the projectile hits the balloon, otherwise false.
      */
-    public boolean didHit(Balloon balloon) {
+    public boolean didHit(BalloonStore balloons, int balloon) {
 
-        if (hitBalloons.contains(balloon)) {
-            return false;
+        for (int i = 0; i < hitCount; i++) {
+            if (hitBalloons[i] == balloon) {
+                return false;
+            }
         }
 
-        int balloonX = balloon.getX();
-        int balloonY = balloon.getY();
+        int balloonX = balloons.getX(balloon);
+        int balloonY = balloons.getY(balloon);
 
         /** Math to Calculate the distance between the current position and Target Provided by ChatGPT */
         double distance = Math.sqrt(Math.pow(currentX - balloonX, 2) + Math.pow(currentY - balloonY, 2));
 
-        if (distance <= (damageArea + 10)) {
-            if (type == ProjectileImageSize.valueOf("GOO")) {
-                balloon.goo();
+        if (distance <= getHitRadius()) {
+            if (type == ProjectileImageSize.GOO) {
+                balloons.goo(balloon);
+            }
+            balloons.setHit(balloon, true);
+            if (hitCount == hitBalloons.length) {
+                hitBalloons = Arrays.copyOf(hitBalloons, hitCount * 2);
             }
-            balloon.gotHit(true);
-            hitBalloons.add(balloon);
+            hitBalloons[hitCount++] = balloon;
             return true;
         }
 
         return false;
     }
 
+    /**
+     * Gets the distance from the projectile within which a balloon counts as hit.
+     *
+     * @return The hit radius in pixels.
+     */
+    public double getHitRadius() {
+        return damageArea + 10;
+    }
+
     /**
      * Gets the number of remaining hits that the projectile can make.
      *
@@ -218,10 +253,11 @@ public class Projectile {
     /**
      * Checks if the projectile is still valid (target's level is greater than zero).
      *
+     * @param balloons The balloons on the map.
      * @return true if the projectile is still valid, false otherwise.
      */
-    public boolean isStillValid() {
-        if (currentTarget.getLevel() <= 0) {
+    public boolean isStillValid(BalloonStore balloons) {
+        if (!balloons.contains(currentTarget) || balloons.getLevel(currentTarget) <= 0) {
             return false;
         }
         return true;
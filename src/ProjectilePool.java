@@ -0,0 +1,88 @@
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Holds the projectiles in flight and recycles them once they hit or miss.
+ * Live projectiles sit at the front of a dense array, followed by the released ones waiting
+ * to be reused. Firing takes the first released projectile and launches it again, and
+ * releasing a projectile swaps it with the last live one, so once the pool has grown to the
+ * busiest moment of a wave no projectile is ever allocated again.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class ProjectilePool {
+    private Projectile[] projectiles = new Projectile[64];
+    private int size;
+
+    /**
+     * Launches a projectile from the pool, reusing a released one when possible.
+     *
+     * @param x               The starting X position of the projectile.
+     * @param y               The starting Y position of the projectile.
+     * @param damageArea      The damage area radius of the projectile.
+     * @param speed           The speed at which the projectile moves.
+     * @param angle           The angle at which the projectile travels.
+     * @param range           The maximum range the projectile can travel.
+     * @param currentTarget   The id of the target balloon for the projectile.
+     * @param allowedHits     The number of allowed hits before the projectile stops.
+     * @param tracking        Whether the projectile tracks a target.
+     * @param projectileImage The image representing the projectile.
+     * @param type            The type of projectile (e.g., Goo, Dart).
+     * @param damage          The damage dealt to each balloon hit.
+     * @return the launched projectile
+     */
+    public Projectile fire(double x, double y, double damageArea, double speed, double angle,
+                           int range, int currentTarget, int allowedHits,
+                           boolean tracking, BufferedImage projectileImage, ProjectileImageSize type, int damage) {
+        if (size == projectiles.length) {
+            projectiles = Arrays.copyOf(projectiles, size * 2);
+        }
+        Projectile p = projectiles[size];
+        if (p == null) {
+            p = new Projectile();
+            projectiles[size] = p;
+        }
+        size++;
+        p.launch(x, y, damageArea, speed, angle, range, currentTarget, allowedHits,
+                tracking, projectileImage, type, damage);
+        return p;
+    }
+
+    /**
+     * Releases the live projectile at the given index so it can be reused. The last live
+     * projectile takes its place, so a caller iterating forwards must look at the same index
+     * again.
+     *
+     * @param index The index of the projectile, from 0 to {@code size() - 1}.
+     */
+    public void release(int index) {
+        int last = --size;
+        Projectile released = projectiles[index];
+        projectiles[index] = projectiles[last];
+        projectiles[last] = released;
+    }
+
+    /**
+     * Returns the live projectile at the given index.
+     *
+     * @param index The index of the projectile, from 0 to {@code size() - 1}.
+     * @return the projectile
+     */
+    public Projectile get(int index) {
+        return projectiles[index];
+    }
+
+    /**
+     * @return the number of projectiles in flight
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Releases every projectile in flight.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -35,6 +35,9 @@ public class RunGame extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);  // Set default close operation to exit on close
         setLayout(null);  // Disable layout manager to manually set component positions
 
+        // Decode every image and sound in the background while the home screen is showing
+        AssetRegistry.preloadAll();
+
         // Initialize and play background music
         mainThemeMusic = new SoundEffect("maintheme.wav", true, 1f);  // Looping background music
 
@@ -0,0 +1,268 @@
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SimulationLoop steps a {@link GameSimulation} on a thread of its own, so game logic never waits
+ * for painting and painting never waits for game logic. It keeps a simulation clock that runs one
+ * tick of {@link GameSimulation#TICK_MILLIS} for every tick length of wall time that passed, no
+ * matter how late the thread woke up, so the game runs at the same pace on a loaded machine and
+ * at any frame rate. At a faster {@link GameSpeed} the ticks simply come closer together, and at
+ * {@link GameSpeed#MAX} they run back to back while a wave is in progress. After every tick it
+ * copies what the renderer needs into a {@link FrameSnapshot} and publishes it through a
+ * {@link SnapshotExchange}, at maximum speed only once per {@link GameSpeed#REDUCED_FRAME_NANOS},
+ * and it keeps the player's health, cash and wave status where the Swing thread can read them
+ * without locking.
+ * The player's actions, like placing or selling a tower, still change the simulation directly
+ * from the Swing thread; they, and every tick, hold the simulation's monitor while they do.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class SimulationLoop implements Runnable {
+    private static final long TICK_NANOS = GameSimulation.TICK_MILLIS * 1_000_000L;
+
+    /** Most ticks run to catch up at once; time missed beyond that, e.g. while the machine was
+     * suspended, is skipped instead. */
+    private static final int MAX_CATCH_UP_TICKS = 8;
+
+    /** Nanoseconds the loop lets go of the simulation between frames at maximum speed, so the
+     * Swing thread can get to it. */
+    private static final long MAX_SPEED_PAUSE_NANOS = 1_000_000L;
+
+    private final GameSimulation simulation;
+    private final SnapshotExchange snapshots = new SnapshotExchange();
+
+    /** Balloon layers popped since the Swing thread last asked. */
+    private final AtomicInteger pendingPops = new AtomicInteger();
+
+    /** Status of the game after the last tick, for the Swing thread. */
+    private volatile int currentCash, currentHealth, currentWaveIndex;
+    private volatile boolean waveInProgress, gameOver, finalWaveCleared;
+
+    private volatile boolean running, paused;
+    private volatile GameSpeed speed = GameSpeed.NORMAL;
+
+    private Thread thread;
+    private long tick;
+
+    /**
+     * Constructs a loop for the given simulation. The loop does nothing until started.
+     *
+     * @param simulation The simulation to step.
+     */
+    public SimulationLoop(GameSimulation simulation) {
+        this.simulation = simulation;
+        refreshStatus();
+    }
+
+    /**
+     * Starts stepping the simulation.
+     */
+    public void start() {
+        running = true;
+        thread = new Thread(this, "Simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops stepping the simulation and waits for the current tick to finish.
+     */
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * Pauses or resumes the game. While paused no ticks are stepped.
+     *
+     * @param paused Whether the game is paused.
+     */
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Changes how fast the game runs.
+     *
+     * @param speed The new speed.
+     */
+    public void setSpeed(GameSpeed speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * @return how fast the game runs
+     */
+    public GameSpeed getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return true while ticks run back to back, at maximum speed during a wave
+     */
+    public boolean isRunningFlatOut() {
+        return speed == GameSpeed.MAX && !paused && waveInProgress && !gameOver;
+    }
+
+    /**
+     * Steps the simulation until stopped. Every time the thread wakes up it runs as many ticks as
+     * fit in the wall time since the last one, then sleeps until the next tick is due. At
+     * maximum speed it does not sleep until the wave is over.
+     */
+    @Override
+    public void run() {
+        long simulatedTime = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            if (isRunningFlatOut()) {
+                runFlatOut();
+                simulatedTime = System.nanoTime();
+                continue;
+            }
+            /** Between waves there is nothing to hurry, so maximum speed waits like normal speed */
+            GameSpeed speed = this.speed;
+            long tickNanos = speed == GameSpeed.MAX ? TICK_NANOS : speed.getTickNanos();
+            if (paused) {
+                simulatedTime = now;
+            } else {
+                if (now - simulatedTime > MAX_CATCH_UP_TICKS * tickNanos) {
+                    simulatedTime = now - MAX_CATCH_UP_TICKS * tickNanos;
+                }
+                while (now - simulatedTime >= tickNanos) {
+                    simulatedTime += tickNanos;
+                    step(simulatedTime, tickNanos);
+                }
+            }
+            long wait = simulatedTime + tickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+
+    /**
+     * Steps one tick and publishes its snapshot and status.
+     *
+     * @param time      The time the tick ends at on the simulation clock.
+     * @param tickNanos The wall time a tick takes at the current speed.
+     */
+    private void step(long time, long tickNanos) {
+        FrameSnapshot snapshot = snapshots.getWritable();
+        synchronized (simulation) {
+            simulation.step();
+            pendingPops.addAndGet(simulation.getPopsLastStep());
+            snapshot.capture(simulation, ++tick, time, tickNanos, snapshots.getTakenTick());
+            refreshStatus();
+        }
+        publish();
+    }
+
+    /**
+     * Steps ticks back to back for one reduced frame, or until the wave ends, then publishes the
+     * last of them and lets go of the simulation for a moment.
+     */
+    private void runFlatOut() {
+        long frameEnd = System.nanoTime() + GameSpeed.REDUCED_FRAME_NANOS;
+        FrameSnapshot snapshot = snapshots.getWritable();
+        synchronized (simulation) {
+            do {
+                simulation.step();
+                tick++;
+                pendingPops.addAndGet(simulation.getPopsLastStep());
+            } while (System.nanoTime() < frameEnd && simulation.isWaveInProgress() && !simulation.isGameOver());
+            snapshot.capture(simulation, tick, System.nanoTime(), 0, snapshots.getTakenTick());
+            refreshStatus();
+        }
+        publish();
+        LockSupport.parkNanos(MAX_SPEED_PAUSE_NANOS);
+    }
+
+    /**
+     * Hands the snapshot just filled over to the renderer.
+     */
+    private void publish() {
+        snapshots.publish();
+    }
+
+    /**
+     * Copies the player's status out of the simulation. Done after every tick, and by the Swing
+     * thread right after it changed the simulation. Must be called while holding the
+     * simulation's monitor.
+     */
+    public void refreshStatus() {
+        currentCash = simulation.getCurrentCash();
+        currentHealth = simulation.getCurrentHealth();
+        currentWaveIndex = simulation.getCurrentWaveIndex();
+        waveInProgress = simulation.isWaveInProgress();
+        gameOver = simulation.isGameOver();
+        finalWaveCleared = simulation.isFinalWaveCleared();
+    }
+
+    /**
+     * Returns the snapshot of the latest tick. Must only be called by the one thread that draws
+     * the game.
+     *
+     * @return The latest snapshot, unchanged until this is called again.
+     */
+    public FrameSnapshot takeSnapshot() {
+        return snapshots.take();
+    }
+
+    /**
+     * Returns how many balloon layers were popped since this was last called.
+     *
+     * @return The number of pops.
+     */
+    public int takePops() {
+        return pendingPops.getAndSet(0);
+    }
+
+    /**
+     * @return the player's cash after the last tick
+     */
+    public int getCurrentCash() {
+        return currentCash;
+    }
+
+    /**
+     * @return the player's health after the last tick
+     */
+    public int getCurrentHealth() {
+        return currentHealth;
+    }
+
+    /**
+     * @return the index of the next wave to be started
+     */
+    public int getCurrentWaveIndex() {
+        return currentWaveIndex;
+    }
+
+    /**
+     * @return true while a wave is spawning or balloons from it are still alive
+     */
+    public boolean isWaveInProgress() {
+        return waveInProgress;
+    }
+
+    /**
+     * @return true once the player has run out of health
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * @return true once the final wave has been spawned and cleared
+     */
+    public boolean isFinalWaveCleared() {
+        return finalWaveCleared;
+    }
+}
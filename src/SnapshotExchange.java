@@ -0,0 +1,61 @@
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * SnapshotExchange passes {@link FrameSnapshot}s from the simulation thread to the renderer
+ * without either of them ever waiting for the other. It holds three snapshots: the one the
+ * simulation is writing, the one the renderer is drawing, and the latest finished one in between.
+ * Publishing swaps the written snapshot with the one in between, and taking swaps the drawn one
+ * with it when it is newer, so the renderer always gets the latest finished tick and a snapshot
+ * is never written while it is being drawn.
+ * There must be only one thread writing and one thread taking.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class SnapshotExchange {
+    /** The latest finished snapshot, or one the renderer already had if nothing newer is done. */
+    private final AtomicReference<FrameSnapshot> latest = new AtomicReference<>(new FrameSnapshot());
+
+    /** Only touched by the simulation thread */
+    private FrameSnapshot writing = new FrameSnapshot();
+
+    /** Only touched by the rendering thread */
+    private FrameSnapshot drawing = new FrameSnapshot();
+
+    /** Tick of the snapshot the renderer took last. */
+    private volatile long takenTick;
+
+    /**
+     * @return the snapshot the simulation thread should fill next
+     */
+    public FrameSnapshot getWritable() {
+        return writing;
+    }
+
+    /**
+     * Hands the filled snapshot over to the renderer. Called by the simulation thread.
+     */
+    public void publish() {
+        writing = latest.getAndSet(writing);
+    }
+
+    /**
+     * Returns the latest finished snapshot, which stays unchanged until this is called again.
+     * Called by the rendering thread.
+     *
+     * @return The latest snapshot, or an empty one before the first tick was published.
+     */
+    public FrameSnapshot take() {
+        if (latest.get().tick > drawing.tick) {
+            drawing = latest.getAndSet(drawing);
+            takenTick = drawing.tick;
+        }
+        return drawing;
+    }
+
+    /**
+     * @return the tick of the latest snapshot the renderer has taken, or 0 if none yet
+     */
+    public long getTakenTick() {
+        return takenTick;
+    }
+}
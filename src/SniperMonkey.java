@@ -1,6 +1,4 @@
-import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 /**
  * Defines the Sniper Monkey tower, which shoots long-range, high-speed projectiles at balloons.
@@ -15,49 +13,35 @@ public class SniperMonkey extends Tower {
     /**
      * Constructs a Sniper Monkey with default attributes.
      *
-     * @param runGame    the main game window
      * @param currentMap the current map image
      */
-    public SniperMonkey(JFrame runGame, BufferedImage currentMap) {
-        super(runGame, currentMap, "SniperMonkey.png");
-
-        this.setRotatable(true);
-        this.setFireRate(1600);
-        this.setRange(800);
-        this.setProjectileSpeed(70);
-        this.setProjectileDamage(4);
-        this.setCost(300);
-        this.setTowerImageSize(TowerImageSize.SNIPERMONKEY);
-        towerType = "Sniper";
-
-        loadProjectileImages();
+    public SniperMonkey(BufferedImage currentMap) {
+        super(currentMap, TowerArchetype.SNIPER_MONKEY);
     }
 
     /**
      * Fires a high-speed projectile at the targeted balloon.
      *
-     * @param currentTarget the balloon to attack
-     * @param projectiles   the list of active projectiles
+     * @param balloons      the balloons on the map
+     * @param currentTarget the id of the balloon to attack
+     * @param projectiles   the pool of active projectiles
      */
     @Override
-    public void fire(Balloon currentTarget, ArrayList<Projectile> projectiles) {
+    public void fire(BalloonStore balloons, int currentTarget, ProjectilePool projectiles) {
 
         /**Code to find center and angle to balloon provided by CHATGPT and tweaked */
-        double targetX = currentTarget.getX() + 27 / 2.0;
-        double targetY = currentTarget.getY() + 33 / 2.0;
+        double targetX = balloons.getX(currentTarget) + 27 / 2.0;
+        double targetY = balloons.getY(currentTarget) + 33 / 2.0;
 
         double x = this.xPosition + (getImgWidth() / 2.0);
         double y = this.yPosition + (getImgHeight() / 2.0);
 
         double angleRadians = Math.atan2(targetY - y, targetX - x);
 
-        Projectile p = new Projectile(
-                x, y, COLLISION_AREA, projectileSpeed, angleRadians,
-                diameter, currentTarget, 1, true,
-                getProjectileImage(0), ProjectileImageSize.DART, getProjectileDamage()
+        projectiles.fire(
+                x, y, COLLISION_AREA, getProjectileSpeed(), angleRadians,
+                getRange(), currentTarget, 1, true,
+                archetype.getProjectileImage(), archetype.getProjectileSize(), getProjectileDamage()
         );
-
-        projectiles.add(p);
-        setFireTimer();
     }
 }
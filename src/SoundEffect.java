@@ -1,6 +1,4 @@
 import javax.sound.sampled.*;
-import java.io.IOException;
-import java.net.URL;
 
 /**
  * This class is used to handle sound effects in the game. It allows for playing, pausing,
@@ -14,7 +12,7 @@ public class SoundEffect {
     private boolean shouldLoop;
 
     /**
-     * Constructor to initialize and load a sound effect.
+     * Constructor to initialize a sound effect from its decoded samples in the asset registry.
      *
      * @param soundFileName The name of the sound file to be loaded (must be placed in the /Sounds/ folder).
      * @param loop A boolean flag indicating whether the sound should loop.
@@ -22,15 +20,14 @@ public class SoundEffect {
      */
     public SoundEffect(String soundFileName, boolean loop, float volume) {
         try {
-            URL soundURL = SoundEffect.class.getResource("/Sounds/" + soundFileName);
-            if (soundURL == null) {
+            AssetRegistry.Sound sound = AssetRegistry.getSound("Sounds/" + soundFileName);
+            if (sound == null) {
                 System.err.println("Sound file not found: " + soundFileName);
                 return;
             }
 
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(soundURL);
             clip = AudioSystem.getClip();
-            clip.open(audioInputStream);
+            clip.open(sound.getFormat(), sound.getSamples(), 0, sound.getSamples().length);
 
             // Set volume
             if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
@@ -53,7 +50,7 @@ public class SoundEffect {
 
             clip.start();
 
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
+        } catch (LineUnavailableException e) {
             e.printStackTrace();
         }
     }
@@ -0,0 +1,96 @@
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * An immutable, time sorted list of every Bloon spawn in a {@link Wave}.
+ * The spawn groups of a wave are merged once, when the wave is created, into two parallel
+ * primitive arrays holding the spawn time and strength of each Bloon. The simulation then
+ * consumes the timeline with a cursor and its own game clock, so a wave is paused simply by
+ * not stepping the simulation, runs at any speed by advancing the clock faster, and can be
+ * replayed by starting the cursor over.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public final class SpawnTimeline {
+
+    /** A timeline without any spawns. */
+    public static final SpawnTimeline EMPTY = new SpawnTimeline(List.of());
+
+    /** Spawn time of each Bloon in milliseconds after the wave starts, in ascending order. */
+    private final int[] spawnTimes;
+
+    /** Strength of each Bloon, parallel to {@link #spawnTimes}. */
+    private final int[] strengths;
+
+    /**
+     * Compiles the given spawn groups into a timeline. Each group spawns its first Bloon one
+     * interval after the wave starts and another one every interval after that. The groups are
+     * merged with a priority queue keyed on each group's next spawn time; Bloons due at the same
+     * time keep the order of their groups.
+     *
+     * @param groups the spawn groups of a wave
+     */
+    public SpawnTimeline(List<BloonSpawnInfo> groups) {
+        int total = 0;
+        int[] intervals = new int[groups.size()];
+        for (int i = 0; i < groups.size(); i++) {
+            total += groups.get(i).getAmount();
+            intervals[i] = Math.max(1, (int) Math.round(groups.get(i).getSpawnRate() * 1000));
+        }
+        spawnTimes = new int[total];
+        strengths = new int[total];
+
+        // Queue entries are {next spawn time, group index, bloons already spawned from the group}
+        PriorityQueue<int[]> queue = new PriorityQueue<>((a, b) ->
+                a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        for (int i = 0; i < groups.size(); i++) {
+            if (groups.get(i).getAmount() > 0) {
+                queue.add(new int[]{intervals[i], i, 0});
+            }
+        }
+
+        int index = 0;
+        while (!queue.isEmpty()) {
+            int[] next = queue.poll();
+            BloonSpawnInfo group = groups.get(next[1]);
+            spawnTimes[index] = next[0];
+            strengths[index] = group.getStrength();
+            index++;
+
+            next[2]++;
+            if (next[2] < group.getAmount()) {
+                next[0] += intervals[next[1]];
+                queue.add(next);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of Bloons spawned over the whole timeline.
+     *
+     * @return the number of spawns
+     */
+    public int size() {
+        return spawnTimes.length;
+    }
+
+    /**
+     * Returns the spawn time of the Bloon at the given position in the timeline.
+     *
+     * @param index position in the timeline
+     * @return milliseconds after the start of the wave
+     */
+    public int getSpawnTime(int index) {
+        return spawnTimes[index];
+    }
+
+    /**
+     * Returns the strength of the Bloon at the given position in the timeline.
+     *
+     * @param index position in the timeline
+     * @return the strength index of the Bloon
+     */
+    public int getStrength(int index) {
+        return strengths[index];
+    }
+}
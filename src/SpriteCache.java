@@ -0,0 +1,359 @@
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SpriteCache keeps every sprite the game draws already scaled to the size it is drawn at, in a
+ * {@link VolatileImage} compatible with the screen. Drawing a sprite is then an unscaled copy
+ * that the graphics card can do, instead of scaling the full size source image on every frame.
+ * A sprite is scaled once, and again only when its surface is lost (for example when the
+ * display mode changes) or the window moves to a screen with a different configuration.
+ * Sprites that turn, like towers facing their target and projectiles in flight, are kept as a
+ * rotation atlas instead: one surface with a cell per angle step, each cell rendered the first
+ * time that angle is needed. Drawing a turned sprite copies the cell of the nearest angle, so no
+ * transform is applied while painting.
+ * Without a screen configuration, for example before the window is shown, sprites are drawn
+ * scaled and rotated from their source as before.
+ * A cache is confined to one thread: the event dispatch thread for Swing painting, or the
+ * render thread of an {@link ActiveRenderer}, which keeps caches of its own.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class SpriteCache {
+    /** Number of angle steps in a full turn of a rotation atlas, a power of two. */
+    public static final int ANGLE_STEPS = 64;
+
+    /** Cells per row of a rotation atlas. */
+    private static final int ATLAS_COLUMNS = 8;
+
+    /** Sprites by source image, with one entry per size the image is drawn at. */
+    private final Map<Image, List<Sprite>> sprites = new IdentityHashMap<>();
+
+    /** Rotation atlases by source image, with one entry per size and pivot. */
+    private final Map<Image, List<RotatedSprite>> rotatedSprites = new IdentityHashMap<>();
+
+    /**
+     * Returns the sprite of an image at the given size, creating it the first time.
+     *
+     * @param source The image to draw.
+     * @param width  The width the image is drawn at.
+     * @param height The height the image is drawn at.
+     * @return The cached sprite.
+     */
+    public Sprite get(Image source, int width, int height) {
+        List<Sprite> sizes = sprites.get(source);
+        if (sizes == null) {
+            sizes = new ArrayList<>(1);
+            sprites.put(source, sizes);
+        }
+        for (int i = 0; i < sizes.size(); i++) {
+            Sprite sprite = sizes.get(i);
+            if (sprite.width == width && sprite.height == height) {
+                return sprite;
+            }
+        }
+        Sprite sprite = new Sprite(source, width, height);
+        sizes.add(sprite);
+        return sprite;
+    }
+
+    /**
+     * Draws an image at the given size through its cached sprite.
+     *
+     * @param g      The graphics context to draw with.
+     * @param source The image to draw.
+     * @param x      The x-coordinate of the top left corner.
+     * @param y      The y-coordinate of the top left corner.
+     * @param width  The width the image is drawn at.
+     * @param height The height the image is drawn at.
+     * @param gc     The configuration of the screen drawn to, or null if unknown.
+     */
+    public void draw(Graphics g, Image source, int x, int y, int width, int height, GraphicsConfiguration gc) {
+        if (source != null) {
+            get(source, width, height).draw(g, x, y, gc);
+        }
+    }
+
+    /**
+     * Returns the rotation atlas of an image at the given size and pivot, creating it the first
+     * time.
+     *
+     * @param source The image to draw.
+     * @param width  The width the image is drawn at.
+     * @param height The height the image is drawn at.
+     * @param pivotX The x-coordinate the image turns around, relative to its top left corner.
+     * @param pivotY The y-coordinate the image turns around, relative to its top left corner.
+     * @return The cached rotation atlas.
+     */
+    public RotatedSprite getRotated(Image source, int width, int height, double pivotX, double pivotY) {
+        List<RotatedSprite> sizes = rotatedSprites.get(source);
+        if (sizes == null) {
+            sizes = new ArrayList<>(1);
+            rotatedSprites.put(source, sizes);
+        }
+        for (int i = 0; i < sizes.size(); i++) {
+            RotatedSprite sprite = sizes.get(i);
+            if (sprite.width == width && sprite.height == height && sprite.pivotX == pivotX && sprite.pivotY == pivotY) {
+                return sprite;
+            }
+        }
+        RotatedSprite sprite = new RotatedSprite(source, width, height, pivotX, pivotY);
+        sizes.add(sprite);
+        return sprite;
+    }
+
+    /**
+     * Draws an image at the given size, turned around a pivot, through its rotation atlas.
+     * The image is drawn as if it were placed at (x, y) and then rotated around the pivot.
+     *
+     * @param g      The graphics context to draw with.
+     * @param source The image to draw.
+     * @param width  The width the image is drawn at.
+     * @param height The height the image is drawn at.
+     * @param pivotX The x-coordinate the image turns around, relative to its top left corner.
+     * @param pivotY The y-coordinate the image turns around, relative to its top left corner.
+     * @param x      The x-coordinate of the top left corner before turning.
+     * @param y      The y-coordinate of the top left corner before turning.
+     * @param angle  The angle to turn the image by, in radians, clockwise on screen.
+     * @param gc     The configuration of the screen drawn to, or null if unknown.
+     */
+    public void drawRotated(Graphics g, Image source, int width, int height, double pivotX, double pivotY,
+                            int x, int y, double angle, GraphicsConfiguration gc) {
+        if (source != null) {
+            getRotated(source, width, height, pivotX, pivotY).draw(g, x, y, angle, gc);
+        }
+    }
+
+    /**
+     * Releases the video memory of every sprite.
+     */
+    public void flush() {
+        for (List<Sprite> sizes : sprites.values()) {
+            for (Sprite sprite : sizes) {
+                sprite.flush();
+            }
+        }
+        sprites.clear();
+        for (List<RotatedSprite> sizes : rotatedSprites.values()) {
+            for (RotatedSprite sprite : sizes) {
+                sprite.flush();
+            }
+        }
+        rotatedSprites.clear();
+    }
+
+    /**
+     * One image at one size, kept in video memory.
+     */
+    public static class Sprite {
+        private final Image source;
+        private final int width, height;
+        private VolatileImage image;
+
+        /**
+         * Constructs a sprite. The scaled image is only created when it is first drawn.
+         *
+         * @param source The image to draw.
+         * @param width  The width the image is drawn at.
+         * @param height The height the image is drawn at.
+         */
+        Sprite(Image source, int width, int height) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Draws the sprite without scaling, scaling the source again first if the surface was
+         * lost or does not suit the screen.
+         *
+         * @param g  The graphics context to draw with.
+         * @param x  The x-coordinate of the top left corner.
+         * @param y  The y-coordinate of the top left corner.
+         * @param gc The configuration of the screen drawn to, or null if unknown.
+         */
+        public void draw(Graphics g, int x, int y, GraphicsConfiguration gc) {
+            if (gc == null) {
+                g.drawImage(source, x, y, width, height, null);
+                return;
+            }
+            do {
+                int status = image == null ? VolatileImage.IMAGE_INCOMPATIBLE : image.validate(gc);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    flush();
+                    image = gc.createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+                    render();
+                } else if (status == VolatileImage.IMAGE_RESTORED) {
+                    render();
+                }
+                g.drawImage(image, x, y, null);
+            } while (image.contentsLost());
+        }
+
+        /**
+         * Scales the source image into the video memory surface.
+         */
+        private void render() {
+            Graphics2D g = image.createGraphics();
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, width, height);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+            g.dispose();
+        }
+
+        /**
+         * Releases the sprite's video memory. It is created again when next drawn.
+         */
+        void flush() {
+            if (image != null) {
+                image.flush();
+                image = null;
+            }
+        }
+
+        /**
+         * @return the width the sprite is drawn at
+         */
+        public int getWidth() {
+            return width;
+        }
+
+        /**
+         * @return the height the sprite is drawn at
+         */
+        public int getHeight() {
+            return height;
+        }
+    }
+
+    /**
+     * One image at one size turned to every angle step, kept in one video memory surface with a
+     * square cell per step. A cell is only rendered the first time its angle is drawn.
+     */
+    public static class RotatedSprite {
+        private final Image source;
+        private final int width, height;
+        private final double pivotX, pivotY;
+
+        /** Side of a cell, large enough for the image turned to any angle around the pivot. */
+        private final int cellSize;
+
+        /** Where the whole pixel part of the pivot lies in a cell. */
+        private final int cellCenter;
+
+        private final boolean[] rendered = new boolean[ANGLE_STEPS];
+        private VolatileImage atlas;
+
+        /**
+         * Constructs a rotation atlas. The surface is only created when it is first drawn.
+         *
+         * @param source The image to draw.
+         * @param width  The width the image is drawn at.
+         * @param height The height the image is drawn at.
+         * @param pivotX The x-coordinate the image turns around, relative to its top left corner.
+         * @param pivotY The y-coordinate the image turns around, relative to its top left corner.
+         */
+        RotatedSprite(Image source, int width, int height, double pivotX, double pivotY) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+            this.pivotX = pivotX;
+            this.pivotY = pivotY;
+            double reach = Math.max(
+                    Math.max(Math.hypot(pivotX, pivotY), Math.hypot(width - pivotX, pivotY)),
+                    Math.max(Math.hypot(pivotX, height - pivotY), Math.hypot(width - pivotX, height - pivotY)));
+            this.cellCenter = (int) Math.ceil(reach) + 1;
+            this.cellSize = 2 * cellCenter + 1;
+        }
+
+        /**
+         * Draws the cell of the angle step nearest to the given angle, rendering it first if
+         * needed.
+         *
+         * @param g     The graphics context to draw with.
+         * @param x     The x-coordinate of the image's top left corner before turning.
+         * @param y     The y-coordinate of the image's top left corner before turning.
+         * @param angle The angle to turn the image by, in radians.
+         * @param gc    The configuration of the screen drawn to, or null if unknown.
+         */
+        public void draw(Graphics g, int x, int y, double angle, GraphicsConfiguration gc) {
+            if (gc == null) {
+                Graphics2D g2d = (Graphics2D) g;
+                AffineTransform transform = g2d.getTransform();
+                g2d.rotate(angle, x + pivotX, y + pivotY);
+                g2d.drawImage(source, x, y, width, height, null);
+                g2d.setTransform(transform);
+                return;
+            }
+            int step = (int) Math.round(angle * ANGLE_STEPS / (2 * Math.PI)) & (ANGLE_STEPS - 1);
+            int cellX = (step % ATLAS_COLUMNS) * cellSize;
+            int cellY = (step / ATLAS_COLUMNS) * cellSize;
+            int drawX = x + (int) Math.floor(pivotX) - cellCenter;
+            int drawY = y + (int) Math.floor(pivotY) - cellCenter;
+            do {
+                int status = atlas == null ? VolatileImage.IMAGE_INCOMPATIBLE : atlas.validate(gc);
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    flush();
+                    atlas = gc.createCompatibleVolatileImage(ATLAS_COLUMNS * cellSize,
+                            ANGLE_STEPS / ATLAS_COLUMNS * cellSize, Transparency.TRANSLUCENT);
+                    clear(0, 0, atlas.getWidth(), atlas.getHeight());
+                } else if (status == VolatileImage.IMAGE_RESTORED) {
+                    Arrays.fill(rendered, false);
+                    clear(0, 0, atlas.getWidth(), atlas.getHeight());
+                }
+                if (!rendered[step]) {
+                    render(step, cellX, cellY);
+                }
+                g.drawImage(atlas, drawX, drawY, drawX + cellSize, drawY + cellSize,
+                        cellX, cellY, cellX + cellSize, cellY + cellSize, null);
+            } while (atlas.contentsLost());
+        }
+
+        /**
+         * Renders the image turned to an angle step into its cell, with the pivot at the cell's
+         * center.
+         */
+        private void render(int step, int cellX, int cellY) {
+            clear(cellX, cellY, cellSize, cellSize);
+            Graphics2D g = atlas.createGraphics();
+            g.clipRect(cellX, cellY, cellSize, cellSize);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.translate(cellX + cellCenter + (pivotX - Math.floor(pivotX)), cellY + cellCenter + (pivotY - Math.floor(pivotY)));
+            g.rotate(step * 2 * Math.PI / ANGLE_STEPS);
+            g.translate(-pivotX, -pivotY);
+            g.drawImage(source, 0, 0, width, height, null);
+            g.dispose();
+            rendered[step] = true;
+        }
+
+        /**
+         * Makes an area of the atlas fully transparent.
+         */
+        private void clear(int x, int y, int w, int h) {
+            Graphics2D g = atlas.createGraphics();
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(x, y, w, h);
+            g.dispose();
+        }
+
+        /**
+         * Releases the atlas's video memory. It is created again when next drawn.
+         */
+        void flush() {
+            if (atlas != null) {
+                atlas.flush();
+                atlas = null;
+            }
+            Arrays.fill(rendered, false);
+        }
+    }
+}
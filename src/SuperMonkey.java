@@ -1,6 +1,4 @@
-import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 /**
  * Implements the Super Monkey tower and defines its behavior.
@@ -16,22 +14,10 @@ public class SuperMonkey extends Tower {
     /**
      * Constructor for the SuperMonkey tower.
      *
-     * @param runGame    The parent JFrame running the game.
      * @param currentMap The map image used for collision/placement reference.
      */
-    public SuperMonkey(JFrame runGame, BufferedImage currentMap) {
-        super(runGame, currentMap, "SuperMonkey.png");
-
-        this.setRotatable(true);
-        this.setFireRate(65);
-        this.setRange(350);
-        this.setProjectileSpeed(20);
-        this.setProjectileDamage(1);
-        this.setTowerImageSize(TowerImageSize.SUPERMONKEY);
-        this.setCost(2650);
-        towerType = "SuperMonkey";
-
-        loadProjectileImages();
+    public SuperMonkey(BufferedImage currentMap) {
+        super(currentMap, TowerArchetype.SUPER_MONKEY);
     }
 
 
@@ -39,27 +25,26 @@ public class SuperMonkey extends Tower {
      * Fires a dart projectile toward a given balloon.
      * Calculates the angle and creates a projectile aimed at the balloon.
      *
-     * @param currentTarget The Balloon to target.
-     * @param projectiles   The list of projectiles in play (to add the new one).
+     * @param balloons      The balloons on the map.
+     * @param currentTarget The id of the balloon to target.
+     * @param projectiles   The pool of projectiles in play (to fire the new one from).
      */
     @Override
-    public void fire(Balloon currentTarget, ArrayList<Projectile> projectiles) {
+    public void fire(BalloonStore balloons, int currentTarget, ProjectilePool projectiles) {
 
         /**Code to find center and angle to balloon provided by CHATGPT and tweaked */
-        double targetX = currentTarget.getX() + 13;
-        double targetY = currentTarget.getY();
+        double targetX = balloons.getX(currentTarget) + 13;
+        double targetY = balloons.getY(currentTarget);
 
         double x = this.xPosition + (getImgWidth() / 2.0);
         double y = this.yPosition + (getImgHeight() / 2.0);
 
         double angleRadians = Math.atan2(targetY - y, targetX - x);
 
-        Projectile p = new Projectile(x, y, COLLISION_AREA, projectileSpeed,
-                angleRadians, diameter, currentTarget, 1, false,
-                getProjectileImage(0), ProjectileImageSize.DART, getProjectileDamage()
+        projectiles.fire(x, y, COLLISION_AREA, getProjectileSpeed(),
+                angleRadians, getRange(), currentTarget, 1, false,
+                archetype.getProjectileImage(), archetype.getProjectileSize(), getProjectileDamage()
         );
-        projectiles.add(p);
-        setFireTimer();
     }
 
 }
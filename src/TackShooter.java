@@ -1,6 +1,4 @@
-import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 /**
  * Defines the TackShooter tower, which fires multiple projectiles in a radial spread.
@@ -18,19 +16,10 @@ public class TackShooter extends Tower {
     /**
      * Constructs a TackShooter with default properties and image.
      *
-     * @param runGame    the main game window
      * @param currentMap the current map image
      */
-    public TackShooter(JFrame runGame, BufferedImage currentMap) {
-        super(runGame, currentMap, "TackShooter.png");
-        this.setFireRate(700);
-        this.setRange(150);
-        this.setProjectileSpeed(10);
-        this.setProjectileDamage(1);
-        this.setTowerImageSize(TowerImageSize.TACSHOOTER);
-        this.setCost(425);
-        towerType = "TackShooter";
-        loadProjectileImages();
+    public TackShooter(BufferedImage currentMap) {
+        super(currentMap, TowerArchetype.TACK_SHOOTER);
     }
 
     /**
@@ -43,25 +32,23 @@ public class TackShooter extends Tower {
 
     /**
      * Fires multiple projectiles in a circular spread pattern.
+     * @param balloons    the balloons on the map
      * @param balloon     the target balloon (not specifically tracked)
-     * @param projectiles the list of active projectiles
+     * @param projectiles the pool of active projectiles
      */
     @Override
-    public void fire(Balloon balloon, ArrayList<Projectile> projectiles) {
+    public void fire(BalloonStore balloons, int balloon, ProjectilePool projectiles) {
 
         double x = this.xPosition + (getImgWidth() / 2.0);
         double y = this.yPosition + (getImgHeight() / 2.0);
 
         for (int i = 0; i < darts - 1; i++) {
             double angle = Math.toRadians((360 / darts) * i);
-            Projectile p = new Projectile(
-                    x, y, COLLISION_AREA, projectileSpeed, angle,
-                    diameter, balloon, 1, false,
-                    getProjectileImage(0), ProjectileImageSize.TAC, getProjectileDamage()
+            projectiles.fire(
+                    x, y, COLLISION_AREA, getProjectileSpeed(), angle,
+                    getRange(), balloon, 1, false,
+                    archetype.getProjectileImage(), archetype.getProjectileSize(), getProjectileDamage()
             );
-            projectiles.add(p);
         }
-
-        setFireTimer();
     }
 }
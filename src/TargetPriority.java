@@ -0,0 +1,47 @@
+/**
+ * The {@code TargetPriority} enum defines which balloon in range a tower shoots at.
+ * Each tower has its own priority, which the player can cycle through by clicking
+ * the tower and then the target button.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public enum TargetPriority {
+    /** The balloon furthest along the path. */
+    FIRST("First"),
+    /** The balloon least far along the path. */
+    LAST("Last"),
+    /** The balloon with the highest level, furthest along the path among equals. */
+    STRONG("Strong"),
+    /** The balloon closest to the tower. */
+    CLOSE("Close");
+
+    private final String displayName;
+
+    /**
+     * Constructs a {@code TargetPriority} enum constant with the given button label.
+     *
+     * @param displayName the name shown to the player
+     */
+    TargetPriority(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the name of the priority shown to the player.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the priority that follows this one when the player cycles through them.
+     *
+     * @return the next priority, wrapping around to {@link #FIRST}
+     */
+    public TargetPriority next() {
+        TargetPriority[] priorities = values();
+        return priorities[(ordinal() + 1) % priorities.length];
+    }
+}
@@ -1,12 +1,5 @@
-import javax.imageio.ImageIO;
-import javax.swing.*;
-import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.Arrays;
 
 /**
  * Abstract base class for all towers in the game.
@@ -16,91 +9,51 @@ import java.util.TimerTask;
  * @Author: Joseph Farrier
  */
 abstract public class Tower {
-    /** Shared visual/projectile data */
-    protected static BufferedImage[] PROJECTILE_IMAGES;
+    /** Sprite and stats shared by every tower of this kind */
+    protected final TowerArchetype archetype;
 
-    /**Tower placement and GUI references*/
-    protected final Container parentWindow;
-    protected final JLabel towerJLabel;
+    /**Tower placement references*/
     protected BufferedImage currentMap;
-    protected Image towerImage;
+    protected PlacementMask placementMask;
 
-    /**Combat and behavior properties*/
-    protected int projectileSpeed;
-    protected int projectileDamage;
-    protected int fireRate;
-    protected boolean animateAttack;
-    protected boolean isRotatable;
-    protected String towerType;
-    private int cost;
+    /**Attack animation state, and the tick of the first snapshot that showed it or 0*/
+    private boolean animateAttack;
+    private long attackTick;
 
     /**Combat state tracking*/
-    protected ArrayList<Projectile> projectiles = new ArrayList<>();
-    protected ArrayList<Balloon> targets = new ArrayList<>();
-    protected Balloon target;
+    protected IntList targets = new IntList();
+    protected int target = -1;
+    protected TargetPriority priority = TargetPriority.FIRST;
 
-    protected Timer fireTimer;
-    protected boolean readyToFire = true;
+    /** Game time in milliseconds until the tower may fire again, advanced by the simulation tick */
+    protected double cooldown;
 
     /**Placement flags and values*/
     protected boolean placeable;
     protected boolean isSelected = false;
     protected boolean placed = false;
-    protected int diameter;
     protected int xPosition;
     protected int yPosition;
 
-    /** tower image values*/
-    private int imgWidth;
-    private int imgHeight;
-
     /**
-     * Constructs a tower and sets up its initial image and reference to the game window.
-     *
-     * @param runGame        The JFrame representing the main game.
-     * @param currentMap     The current level's background map image.
-     * @param towerImagePath Path to the tower image relative to resources.
+     * Stretches of path distance inside the tower's range, as start/end pairs in ascending
+     * order. Computed when the tower is placed and dropped when it is sold.
      */
-    public Tower(JFrame runGame, BufferedImage currentMap, String towerImagePath) {
-        parentWindow = runGame.getContentPane();
-        towerJLabel = new JLabel();
-        towerJLabel.setBounds(15, 15, 15, 15);
-        this.currentMap = currentMap;
-        placeable = false;
-
-        towerImage = loadImage(towerImagePath);
-        if (towerImage != null) {
-            towerJLabel.setIcon(new ImageIcon(towerImage));
-        } else {
-            System.out.println("Failed to load image: " + towerImagePath);
-        }
-
-        parentWindow.add(towerJLabel);
-    }
+    protected double[] coverage;
 
     /**
-     * Returns a projectile image from the static image array.
+     * Constructs a tower of the given kind and sets up its reference to the current map.
+     * The sprite and stats are shared through the archetype, so no images are loaded here.
+     * Towers do not need a window, so they can be created by a headless {@link GameSimulation}.
      *
-     * @param num Index of the image.
-     * @return The projectile image.
+     * @param currentMap The current level's background map image.
+     * @param archetype  The kind of tower.
      */
-    public static BufferedImage getProjectileImage(int num) {
-        return PROJECTILE_IMAGES[num];
-    }
-
-    /**
-     * Loads an image from the TowerImages resource folder.
-     *
-     * @param imagePath File name of the image.
-     * @return The image if loaded successfully, otherwise null.
-     */
-    private Image loadImage(String imagePath) {
-        try {
-            return new ImageIcon(getClass().getClassLoader().getResource("TowerImages/" + imagePath)).getImage();
-        } catch (Exception e) {
-            System.out.println("Error loading image: " + imagePath);
-            return null;
-        }
+    public Tower(BufferedImage currentMap, TowerArchetype archetype) {
+        this.archetype = archetype;
+        this.currentMap = currentMap;
+        this.placementMask = PlacementMask.forMap(currentMap);
+        placeable = false;
     }
 
     /**
@@ -112,60 +65,136 @@ abstract public class Tower {
      * @return True if the color is considered valid green terrain.
      */
     public boolean isGreen(int red, int green, int blue) {
-        return (green > 80 && (red < 130) && (blue < 81));
+        return PlacementMask.isGreen(red, green, blue);
     }
 
     /**
      * Checks whether the tower can be placed at the given coordinate.
-     * Valid placement requires a majority of surrounding pixels to be green.
+     * Valid placement requires a majority of surrounding pixels to be green, which is looked
+     * up in the placement mask of the map.
      *
      * @param x X-coordinate of the mouse/tower center.
      * @param y Y-coordinate of the mouse/tower center.
      * @return True if the area is valid for placement.
      */
     public boolean isPlaceable(int x, int y) {
-        int missed = 0;
-        for (int i = -4; i <= 4; i++) {
-            for (int j = -4; j <= 4; j++) {
-                if (x + i < 0 || x + i >= currentMap.getWidth() || y + j < 0 || y + j >= currentMap.getHeight()) {
-                    placeable = false;
-                    return false;
-                }
-                int pixelColor = currentMap.getRGB(x + i, y + j);
-                int red = (pixelColor >> 16) & 0xFF;
-                int green = (pixelColor >> 8) & 0xFF;
-                int blue = (pixelColor) & 0xFF;
-
-                if (!isGreen(red, green, blue)) {
-                    missed++;
-                    if (missed > 25) {
-                        placeable = false;
-                        return false;
-                    }
-                }
-            }
-        }
-        placeable = true;
-        return true;
+        placeable = placementMask.isPlaceable(x, y);
+        return placeable;
     }
 
     /**
      * Determines whether a balloon is within the tower's attack radius.
+     * Placed towers only compare the balloon's path distance against their coverage intervals;
+     * towers that are not placed yet fall back to measuring the distance to the balloon.
      *
-     * @param balloon The balloon to check.
+     * @param balloons The store holding the balloon.
+     * @param balloon  The id of the balloon to check.
      * @return True if the balloon is within range.
      */
-    public boolean inRange(Balloon balloon) {
+    public boolean inRange(BalloonStore balloons, int balloon) {
+        if (coverage != null) {
+            return coversPathDistance(balloons.getPathDistance(balloon));
+        }
         /** Math to determine if balloon is in range Provided by CHATGPT*/
-        int targetX = balloon.getX() + 13;
-        int targetY = balloon.getY() + 16;
-        double distanceSquared = Math.pow(targetX - this.xPosition - (getImgWidth() / 2), 2) +
-                Math.pow(targetY - this.yPosition - (getImgHeight() / 2), 2);
+        int targetX = balloons.getCenterX(balloon);
+        int targetY = balloons.getCenterY(balloon);
+        double distanceSquared = Math.pow(targetX - getCenterX(), 2) +
+                Math.pow(targetY - getCenterY(), 2);
 
-        double rangeSquared = Math.pow(this.diameter / 2, 2);
+        double rangeSquared = Math.pow(getRadius(), 2);
         return distanceSquared <= rangeSquared;
     }
 
+    /**
+     * Checks whether the given distance along the path lies inside one of the tower's
+     * coverage intervals, using a binary search over the interval starts.
+     *
+     * @param pathDistance Distance along the path in pixels.
+     * @return True if a balloon that far along the path is in range.
+     */
+    public boolean coversPathDistance(double pathDistance) {
+        int low = 0;
+        int high = coverage.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (pathDistance < coverage[2 * mid]) {
+                high = mid - 1;
+            } else if (pathDistance > coverage[2 * mid + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes which stretches of the path lie inside the tower's range. Towers never move
+     * once placed, so this only has to run on placement; afterwards range checks are a lookup
+     * of the balloon's path distance.
+     *
+     * @param waypoints The path balloons follow on the current map.
+     */
+    public void computeCoverage(Waypoints waypoints) {
+        double radiusSquared = Math.pow(getRadius(), 2);
+        double[] intervals = new double[8];
+        int count = 0;
+        boolean inside = false;
+        for (int i = 0; i < waypoints.getTableSize(); i++) {
+            double dx = BalloonStore.toCenterX(waypoints.getTableX(i)) - getCenterX();
+            double dy = BalloonStore.toCenterY(waypoints.getTableY(i)) - getCenterY();
+            boolean covered = dx * dx + dy * dy <= radiusSquared;
+            if (covered != inside) {
+                if (count == intervals.length) {
+                    intervals = Arrays.copyOf(intervals, count * 2);
+                }
+                intervals[count++] = Math.min((covered ? i : i - 1) * Waypoints.TABLE_STEP, waypoints.getPathLength());
+                inside = covered;
+            }
+        }
+        if (inside) {
+            if (count == intervals.length) {
+                intervals = Arrays.copyOf(intervals, count + 1);
+            }
+            intervals[count++] = waypoints.getPathLength();
+        }
+        coverage = Arrays.copyOf(intervals, count);
+    }
+
+    /**
+     * Discards the tower's coverage intervals, for example when the tower is sold.
+     */
+    public void clearCoverage() {
+        coverage = null;
+    }
+
+    /**
+     * Returns the x-coordinate of the center of the tower, which its range is measured from.
+     *
+     * @return The center x-coordinate.
+     */
+    public int getCenterX() {
+        return xPosition + (getImgWidth() / 2);
+    }
+
+    /**
+     * Returns the y-coordinate of the center of the tower, which its range is measured from.
+     *
+     * @return The center y-coordinate.
+     */
+    public int getCenterY() {
+        return yPosition + (getImgHeight() / 2);
+    }
+
+    /**
+     * Returns the radius of the tower's attack range.
+     *
+     * @return Half of the range diameter.
+     */
+    public int getRadius() {
+        return archetype.getRange() / 2;
+    }
+
     /**
      * Calculates the aiming angle from the tower to a given coordinate.
      *
@@ -175,8 +204,8 @@ abstract public class Tower {
      */
     public double getAngle(int x, int y) {
         /** Math to determine angle provided by CHATGPT*/
-        int centerX = this.xPosition + towerImage.getWidth(null) / 2;
-        int centerY = this.yPosition + towerImage.getHeight(null) / 2;
+        int centerX = this.xPosition + archetype.getTowerImage().getWidth(null) / 2;
+        int centerY = this.yPosition + archetype.getTowerImage().getHeight(null) / 2;
 
         double angle = Math.atan2(y - centerY, x - centerX);
         double angleDegrees = Math.toDegrees(angle);
@@ -189,67 +218,66 @@ abstract public class Tower {
     /**
      * Returns the target balloon for the tower.
      *
-     * @return The current target balloon.
+     * @return The id of the current target balloon, or -1 if there is none.
      */
-    public Balloon getTarget() {
+    public int getTarget() {
         return target;
     }
 
     /**
      * Sets the target balloon for the tower.
      *
-     * @param target The balloon to be set as the target.
+     * @param target The id of the balloon to be set as the target, or -1 for none.
      */
-    public void setTarget(Balloon target) {
+    public void setTarget(int target) {
         this.target = target;
     }
 
     /**
-     * Adds a balloon to the list of targets if not already present.
+     * Returns which balloon in range the tower shoots at.
      *
-     * @param target The balloon to be added as a target.
+     * @return The tower's targeting priority.
      */
-    public void addTarget(Balloon target) {
-        if (!targets.contains(target)) {
-            this.targets.add(target);
-        }
+    public TargetPriority getPriority() {
+        return priority;
     }
 
     /**
-     * Retrieves the fire rate of the tower.
+     * Sets which balloon in range the tower shoots at.
      *
-     * @return The fire rate in milliseconds.
+     * @param priority The new targeting priority.
      */
-    public int getFireRate() {
-        return fireRate;
+    public void setPriority(TargetPriority priority) {
+        this.priority = priority;
     }
 
     /**
-     * Sets the fire rate of the tower.
+     * Adds a balloon to the list of targets if not already present.
      *
-     * @param fireRate The fire rate in milliseconds.
-     * @return The updated fire rate.
+     * @param target The id of the balloon to be added as a target.
      */
-    public int setFireRate(int fireRate) {
-        return this.fireRate = fireRate;
+    public void addTarget(int target) {
+        if (!targets.contains(target)) {
+            this.targets.add(target);
+        }
     }
 
     /**
-     * Retrieves the range (diameter) of the tower.
+     * Retrieves the fire rate of the tower.
      *
-     * @return The diameter of the tower's range.
+     * @return The fire rate in milliseconds.
      */
-    public int getRange() {
-        return diameter;
+    public int getFireRate() {
+        return archetype.getFireRate();
     }
 
     /**
-     * Sets the range (diameter) of the tower.
+     * Retrieves the range (diameter) of the tower.
      *
-     * @param diameter The new range diameter.
+     * @return The diameter of the tower's range.
      */
-    public void setRange(int diameter) {
-        this.diameter = diameter;
+    public int getRange() {
+        return archetype.getRange();
     }
 
     /**
@@ -258,16 +286,7 @@ abstract public class Tower {
      * @return The projectile speed.
      */
     public int getProjectileSpeed() {
-        return projectileSpeed;
-    }
-
-    /**
-     * Sets the speed of the projectile.
-     *
-     * @param projectileSpeed The projectile speed to set.
-     */
-    public void setProjectileSpeed(int projectileSpeed) {
-        this.projectileSpeed = projectileSpeed;
+        return archetype.getProjectileSpeed();
     }
 
     /**
@@ -276,25 +295,7 @@ abstract public class Tower {
      * @return The projectile damage.
      */
     public int getProjectileDamage() {
-        return projectileDamage;
-    }
-
-    /**
-     * Sets the damage dealt by the projectile.
-     *
-     * @param projectileDamage The damage value to set.
-     */
-    public void setProjectileDamage(int projectileDamage) {
-        this.projectileDamage = projectileDamage;
-    }
-
-    /**
-     * Gets the position of the tower as a Point.
-     *
-     * @return The (x, y) position of the tower.
-     */
-    public Point getPosition() {
-        return new Point(xPosition, yPosition);
+        return archetype.getProjectileDamage();
     }
 
     /**
@@ -311,15 +312,6 @@ abstract public class Tower {
     }
 
 
-    /**
-     * Enables or disables tower rotation behavior.
-     *
-     * @param rotatable True to make the tower rotatable, false otherwise.
-     */
-    public void setRotatable(boolean rotatable) {
-        this.isRotatable = rotatable;
-    }
-
     /**
      * Checks if the tower is placeable.
      *
@@ -335,7 +327,7 @@ abstract public class Tower {
      * @return The width of the tower image.
      */
     public int getImgWidth() {
-        return imgWidth;
+        return archetype.getImgWidth();
     }
 
     /**
@@ -344,17 +336,7 @@ abstract public class Tower {
      * @return The height of the tower image.
      */
     public int getImgHeight() {
-        return imgHeight;
-    }
-
-    /**
-     * Sets the size of the tower image using a predefined size type.
-     *
-     * @param type The size of the tower image (defined by TowerImageSize enum).
-     */
-    public void setTowerImageSize(TowerImageSize type) {
-        this.imgWidth = type.getWidth();
-        this.imgHeight = type.getHeight();
+        return archetype.getImgHeight();
     }
 
     /**
@@ -363,88 +345,78 @@ abstract public class Tower {
      * @return The cost to purchase the tower.
      */
     public int getCost() {
-        return cost;
+        return archetype.getCost();
     }
 
     /**
-     * Sets the cost of the tower.
-     *
-     * @param cost The cost to set.
+     * Starts the attack animation of the tower.
      */
-    public void setCost(int cost) {
-        this.cost = cost;
+    protected void animateAttack() {
+        animateAttack = true;
+        attackTick = 0;
     }
 
     /**
-     * Disables the attack animation flag for the tower.
-     * Can be used to reset visual effects between attacks.
+     * Returns whether a snapshot should show the tower's attack animation. The animation keeps
+     * showing in every snapshot until the renderer has taken one of them, and is cleared after that.
+     *
+     * @param tick      The tick the snapshot is taken after.
+     * @param takenTick The tick of the latest snapshot the renderer has taken.
+     * @return true if the attack should be animated
      */
-    public void setAnimateAttackFalse() {
-        this.animateAttack = false;
+    public boolean showAttackAnimation(long tick, long takenTick) {
+        if (!animateAttack) {
+            return false;
+        }
+        if (attackTick == 0) {
+            attackTick = tick;
+        } else if (attackTick <= takenTick) {
+            animateAttack = false;
+            attackTick = 0;
+            return false;
+        }
+        return true;
     }
 
     /**
      * Checks if the tower is ready to fire.
      *
-     * @return True if the tower is ready to fire, false otherwise.
+     * @return True if the tower's cooldown has run out, false otherwise.
      */
     public boolean isReadyToFire() {
-        return readyToFire;
+        return cooldown <= 0;
     }
 
     /**
-     * Sets up a fire timer that ensures the tower cannot fire again until after a delay.
-     * Prevents spamming of projectiles by enforcing cooldown between shots.
-     */
-    public void setFireTimer() {
-        if (!readyToFire) return;
-
-        readyToFire = false;
-
-        if (fireTimer != null) {
-            fireTimer.cancel();
-            fireTimer.purge();
+     * Advances the tower's cooldown by one simulation tick and fires at the current target as
+     * many times as the cooldown allows. A fire rate shorter than the tick results in several
+     * shots in the same tick, and any leftover time carries over to the next tick so the rate
+     * stays exact. Cooldowns only advance while the simulation is stepped, so they stop while
+     * the game is paused and scale with the tick.
+     *
+     * @param elapsedMillis Game time covered by this tick in milliseconds.
+     * @param balloons      The balloons on the map.
+     * @param projectiles   The pool fired shots are taken from.
+     */
+    public void updateCooldown(int elapsedMillis, BalloonStore balloons, ProjectilePool projectiles) {
+        cooldown -= elapsedMillis;
+        while (target >= 0 && cooldown <= 0) {
+            fire(balloons, target, projectiles);
+            /** Never allow a zero cooldown, otherwise the tower would fire forever */
+            cooldown += Math.max(archetype.getFireRate(), 1);
         }
-
-        /** Create new fire timer after firing*/
-        fireTimer = new Timer();
-        fireTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                readyToFire = true;
-            }
-        }, fireRate); /** Delay in milliseconds before the tower can fire again*/
-    }
-
-    /**
-     * Loads the projectile images from the provided file paths.
-     * Ensures projectiles have associated visual representations.
-     */
-    protected void loadProjectileImages() {
-        String[] paths = {
-                "src/ProjectileImages/dart.png",
-                "src/ProjectileImages/glueDart.png",
-                "src/ProjectileImages/ninjaStar.png",
-                "src/ProjectileImages/energyBall.png",
-                "src/ProjectileImages/bomb.png"
-        };
-        PROJECTILE_IMAGES = new BufferedImage[paths.length];
-
-        for (int i = 0; i < paths.length; i++) {
-            try {
-                PROJECTILE_IMAGES[i] = ImageIO.read(new File(paths[i]));
-            } catch (IOException e) {
-                System.err.println("Failed to load balloon image: " + paths[i]);
-                PROJECTILE_IMAGES[i] = null;
-            }
+        /** An idle tower is ready to fire but does not bank shots for later */
+        if (cooldown < 0) {
+            cooldown = 0;
         }
     }
 
     /**
      * Abstract method to be implemented by subclasses to fire a projectile at a target balloon.
      *
-     * @param currentTarget The balloon to target with the projectile.
-     * @param projectile    The list of projectiles to be fired.
+     * @param balloons      The balloons on the map.
+     * @param currentTarget The id of the balloon to target with the projectile.
+     * @param projectile    The pool projectiles are fired from.
      */
-    public abstract void fire(Balloon currentTarget, ArrayList<Projectile> projectile);
+    public abstract void fire(BalloonStore balloons, int currentTarget, ProjectilePool projectile);
 }
\ No newline at end of file
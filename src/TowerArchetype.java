@@ -0,0 +1,190 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The {@code TowerArchetype} enum holds everything that is the same for every tower of a kind:
+ * its sprite, its stats and the sprite of the projectile it fires. The images are taken from the
+ * {@link AssetRegistry} once, when the enum is first used, and shared by every tower of that
+ * kind, so creating a tower only sets up its position, cooldown and targeting state.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public enum TowerArchetype {
+    // image, size, fire rate, range, projectile speed, damage, cost, rotatable, projectile image, projectile size
+    DART_MONKEY("DartMonkey.png", TowerImageSize.DARTMONKEY, 500, 200, 23, 1, 170, true, "dart.png", ProjectileImageSize.DART),
+    TACK_SHOOTER("TackShooter.png", TowerImageSize.TACSHOOTER, 700, 150, 10, 1, 425, false, "dart.png", ProjectileImageSize.TAC),
+    BOMB_TOWER("BombTower.png", TowerImageSize.BOMBTOWER, 900, 250, 15, 1, 555, true, "bomb.png", ProjectileImageSize.BOMB),
+    GLUE_GUNNER("GlueGunner.png", TowerImageSize.GLUEGUNNER, 800, 255, 23, 1, 365, true, "glueDart.png", ProjectileImageSize.GOO),
+    ICE_TOWER("IceTower.png", TowerImageSize.ICETOWER, 2500, 160, 0, 0, 205, false, null, null),
+    NINJA("Ninja.png", TowerImageSize.NINJA, 650, 250, 17, 1, 425, true, "ninjaStar.png", ProjectileImageSize.NINJASTAR),
+    SNIPER_MONKEY("SniperMonkey.png", TowerImageSize.SNIPERMONKEY, 1600, 800, 70, 4, 300, true, "dart.png", ProjectileImageSize.DART),
+    SUPER_MONKEY("SuperMonkey.png", TowerImageSize.SUPERMONKEY, 65, 350, 20, 1, 2650, true, "dart.png", ProjectileImageSize.DART),
+    WIZARD("Wizard.png", TowerImageSize.WIZARD, 700, 250, 8, 1, 470, true, "energyBall.png", ProjectileImageSize.ORB);
+
+    /** The image of each kind of projectile, by {@link ProjectileImageSize} ordinal. */
+    private static final BufferedImage[] PROJECTILE_IMAGES = new BufferedImage[ProjectileImageSize.values().length];
+
+    static {
+        for (TowerArchetype archetype : values()) {
+            if (archetype.projectileSize != null) {
+                PROJECTILE_IMAGES[archetype.projectileSize.ordinal()] = archetype.projectileImage;
+            }
+        }
+    }
+
+    private final Image towerImage;
+    private final TowerImageSize imageSize;
+    private final int fireRate;
+    private final int range;
+    private final int projectileSpeed;
+    private final int projectileDamage;
+    private final int cost;
+    private final boolean rotatable;
+    private final BufferedImage projectileImage;
+    private final ProjectileImageSize projectileSize;
+
+    /**
+     * Constructs a {@code TowerArchetype} enum constant and loads its images.
+     *
+     * @param towerImagePath      File name of the tower image in the TowerImages folder.
+     * @param imageSize           Size the tower is drawn and placed at.
+     * @param fireRate            Milliseconds between shots.
+     * @param range               Diameter of the tower's range in pixels.
+     * @param projectileSpeed     Speed of the tower's projectiles.
+     * @param projectileDamage    Damage dealt by each projectile hit.
+     * @param cost                Price of the tower.
+     * @param rotatable           Whether the tower turns to face its target.
+     * @param projectileImagePath File name of the projectile image in the ProjectileImages folder, or null.
+     * @param projectileSize      Size the projectiles are drawn at, or null.
+     */
+    TowerArchetype(String towerImagePath, TowerImageSize imageSize, int fireRate, int range,
+                   int projectileSpeed, int projectileDamage, int cost, boolean rotatable,
+                   String projectileImagePath, ProjectileImageSize projectileSize) {
+        this.towerImage = loadTowerImage(towerImagePath);
+        this.imageSize = imageSize;
+        this.fireRate = fireRate;
+        this.range = range;
+        this.projectileSpeed = projectileSpeed;
+        this.projectileDamage = projectileDamage;
+        this.cost = cost;
+        this.rotatable = rotatable;
+        this.projectileImage = projectileImagePath == null ? null : loadProjectileImage(projectileImagePath);
+        this.projectileSize = projectileSize;
+    }
+
+    /**
+     * Loads an image from the TowerImages resource folder.
+     *
+     * @param imagePath File name of the image.
+     * @return The image if loaded successfully, otherwise null.
+     */
+    private static Image loadTowerImage(String imagePath) {
+        Image image = AssetRegistry.getImage("TowerImages/" + imagePath);
+        if (image == null) {
+            System.err.println("Failed to load image: " + imagePath);
+        }
+        return image;
+    }
+
+    /**
+     * Loads an image from the ProjectileImages resource folder. The asset registry hands out
+     * the same image to every kind of tower firing it.
+     *
+     * @param imagePath File name of the image.
+     * @return The image if loaded successfully, otherwise null.
+     */
+    private static BufferedImage loadProjectileImage(String imagePath) {
+        BufferedImage image = AssetRegistry.getImage("ProjectileImages/" + imagePath);
+        if (image == null) {
+            System.err.println("Failed to load projectile image: " + imagePath);
+        }
+        return image;
+    }
+
+    /**
+     * @return the image the tower is drawn with
+     */
+    public Image getTowerImage() {
+        return towerImage;
+    }
+
+    /**
+     * @return the width the tower is drawn and placed at
+     */
+    public int getImgWidth() {
+        return imageSize.getWidth();
+    }
+
+    /**
+     * @return the height the tower is drawn and placed at
+     */
+    public int getImgHeight() {
+        return imageSize.getHeight();
+    }
+
+    /**
+     * @return the milliseconds between shots
+     */
+    public int getFireRate() {
+        return fireRate;
+    }
+
+    /**
+     * @return the diameter of the tower's range
+     */
+    public int getRange() {
+        return range;
+    }
+
+    /**
+     * @return the speed of the tower's projectiles
+     */
+    public int getProjectileSpeed() {
+        return projectileSpeed;
+    }
+
+    /**
+     * @return the damage dealt by each projectile hit
+     */
+    public int getProjectileDamage() {
+        return projectileDamage;
+    }
+
+    /**
+     * @return the price of the tower
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * @return true if the tower turns to face its target
+     */
+    public boolean isRotatable() {
+        return rotatable;
+    }
+
+    /**
+     * @return the image of the tower's projectiles, or null if it fires none
+     */
+    public BufferedImage getProjectileImage() {
+        return projectileImage;
+    }
+
+    /**
+     * @return the size the tower's projectiles are drawn at, or null if it fires none
+     */
+    public ProjectileImageSize getProjectileSize() {
+        return projectileSize;
+    }
+
+    /**
+     * Returns the image projectiles of the given kind are drawn with.
+     *
+     * @param size The kind of projectile.
+     * @return the image of the projectile, or null if it could not be loaded
+     */
+    public static BufferedImage getProjectileImage(ProjectileImageSize size) {
+        return PROJECTILE_IMAGES[size.ordinal()];
+    }
+}
@@ -0,0 +1,160 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A uniform grid occupancy index over the placed towers, keyed on each tower's top left corner,
+ * the position towers are placed and clicked by. Towers are added when placed and removed when
+ * sold, so selecting a tower, rejecting an overlapping placement and finding the towers near a
+ * point only look at the cells around that point instead of every tower on the map.
+ * Positions outside the grid bounds are clamped into the border cells.
+ * @Author: Jace Claassen
+ * @Author: Joseph Farrier
+ */
+public class TowerGrid {
+    private final int originX, originY;
+    private final int cellSize;
+    private final int columns, rows;
+
+    /** Towers in each cell, indexed by row * columns + column. */
+    private final List<List<Tower>> cells;
+
+    /**
+     * Constructs an empty grid covering the given area.
+     *
+     * @param minX     Smallest x-coordinate covered by the grid.
+     * @param minY     Smallest y-coordinate covered by the grid.
+     * @param maxX     Largest x-coordinate covered by the grid.
+     * @param maxY     Largest y-coordinate covered by the grid.
+     * @param cellSize Width and height of each cell in pixels.
+     */
+    public TowerGrid(int minX, int minY, int maxX, int maxY, int cellSize) {
+        this.originX = minX;
+        this.originY = minY;
+        this.cellSize = cellSize;
+        this.columns = (maxX - minX) / cellSize + 1;
+        this.rows = (maxY - minY) / cellSize + 1;
+        this.cells = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Adds a placed tower to the cell containing its position.
+     *
+     * @param tower The tower to add.
+     */
+    public void insert(Tower tower) {
+        cells.get(cellOf(tower.xPosition, tower.yPosition)).add(tower);
+    }
+
+    /**
+     * Removes a tower from the grid. Does nothing if the tower is not in the grid.
+     * The tower must not have moved since it was inserted.
+     *
+     * @param tower The tower to remove.
+     */
+    public void remove(Tower tower) {
+        cells.get(cellOf(tower.xPosition, tower.yPosition)).remove(tower);
+    }
+
+    /**
+     * Removes every tower from the grid.
+     */
+    public void clear() {
+        for (List<Tower> cell : cells) {
+            cell.clear();
+        }
+    }
+
+    /**
+     * Finds the tower closest to the given point, if one lies within the given distance.
+     *
+     * @param x      The x-coordinate of the point.
+     * @param y      The y-coordinate of the point.
+     * @param radius The largest distance a tower may be from the point.
+     * @return The closest tower within the distance, or null if there is none.
+     */
+    public Tower findClosest(int x, int y, double radius) {
+        Tower closestTower = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (int r = row(y - radius); r <= row(y + radius); r++) {
+            for (int c = column(x - radius); c <= column(x + radius); c++) {
+                for (Tower tower : cells.get(r * columns + c)) {
+                    double distance = Math.hypot(x - tower.xPosition, y - tower.yPosition);
+                    if (distance <= radius && distance < closestDistance) {
+                        closestDistance = distance;
+                        closestTower = tower;
+                    }
+                }
+            }
+        }
+        return closestTower;
+    }
+
+    /**
+     * Adds every tower within the given distance of a point to the output list.
+     * The list is not cleared first.
+     *
+     * @param x      The x-coordinate of the point.
+     * @param y      The y-coordinate of the point.
+     * @param radius The largest distance a tower may be from the point.
+     * @param out    The list the towers found are added to.
+     */
+    public void queryRadius(int x, int y, double radius, List<Tower> out) {
+        for (int r = row(y - radius); r <= row(y + radius); r++) {
+            for (int c = column(x - radius); c <= column(x + radius); c++) {
+                for (Tower tower : cells.get(r * columns + c)) {
+                    if (Math.hypot(x - tower.xPosition, y - tower.yPosition) <= radius) {
+                        out.add(tower);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a tower stands less than the given distance away from a point along both
+     * axes, which is how close two towers may be placed to each other.
+     *
+     * @param x        The x-coordinate of the point.
+     * @param y        The y-coordinate of the point.
+     * @param distance The distance along each axis a tower must keep from the point.
+     * @return True if a tower is that close to the point.
+     */
+    public boolean isOccupied(int x, int y, int distance) {
+        for (int r = row(y - distance); r <= row(y + distance); r++) {
+            for (int c = column(x - distance); c <= column(x + distance); c++) {
+                for (Tower tower : cells.get(r * columns + c)) {
+                    if (Math.abs(x - tower.xPosition) < distance && Math.abs(y - tower.yPosition) < distance) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the cell containing the given point.
+     */
+    private int cellOf(double x, double y) {
+        return row(y) * columns + column(x);
+    }
+
+    /**
+     * Returns the grid column containing the given x-coordinate, clamped to the grid.
+     */
+    private int column(double x) {
+        int c = (int) Math.floor((x - originX) / cellSize);
+        return Math.max(0, Math.min(columns - 1, c));
+    }
+
+    /**
+     * Returns the grid row containing the given y-coordinate, clamped to the grid.
+     */
+    private int row(double y) {
+        int r = (int) Math.floor((y - originY) / cellSize);
+        return Math.max(0, Math.min(rows - 1, r));
+    }
+}
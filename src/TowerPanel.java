@@ -1,13 +1,9 @@
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.util.List;
 
 /**
  * TowerPanel handles the visual representation and user interaction
@@ -29,122 +25,184 @@ public class TowerPanel extends JPanel {
      */
     int x;
     int y;
+    /**
+     * Latest mouse position and whether it still has to be applied to the tower being placed
+     */
+    private int mouseX, mouseY;
+    private boolean placementPending;
     /**
      * The current tower being placed by the player
      */
-    private Tower tower;
+    private volatile Tower tower;
     /**
      * Image used to cancel tower placement
      */
     private BufferedImage trashImage;
-    private List<Tower> placedTowers;
+    private final GameSimulation simulation;
+    /**
+     * Where the tower being placed and the trash icon were last drawn, or empty if they were not
+     */
+    private final Rectangle placementBounds = new Rectangle();
+
+    /** Where and how big the trash icon is drawn */
+    private static final int TRASH_X = 883, TRASH_Y = 190, TRASH_SIZE = 45;
+
+    /** Range circle of a tower that can and cannot be placed where it is */
+    private static final Color PLACEABLE_COLOR = new Color(128, 128, 128, 128);
+    private static final Color BLOCKED_COLOR = new Color(225, 0, 0, 128);
 
     /**
      * Constructs the TowerPanel.
      *
      * @param pane           the layered pane that manages z-order of components
-     * @param placedTowers   the list of already placed towers
+     * @param simulation     the simulation holding the already placed towers
      * @param gameRunningGUI the main game GUI for cash updates and state changes
      */
-    public TowerPanel(JLayeredPane pane, List<Tower> placedTowers, GameRunningGUI gameRunningGUI) {
+    public TowerPanel(JLayeredPane pane, GameSimulation simulation, GameRunningGUI gameRunningGUI) {
         this.layeredPane = pane;
-        this.placedTowers = placedTowers;
+        this.simulation = simulation;
         setOpaque(false);
 
-        try {
-            trashImage = ImageIO.read(new File("src/DesignImg/trash.png"));
-        } catch (IOException e) {
+        trashImage = AssetRegistry.getImage("DesignImg/trash.png");
+        if (trashImage == null) {
             System.err.println("Failed to load trash image.");
-            trashImage = null;
         }
 
         /** Handless mouse clicks during placement*/
         addMouseListener(new MouseAdapter() {
             public void mouseClicked(MouseEvent e) {
+                updatePlacement();
                 if ((tower != null) && tower.isPlaceable()) {
-                    gameRunningGUI.setCurrentCash(tower.getCost());
                     new SoundEffect("NewTowerIntro.wav", false, 0.2f);
 
-                    tower.setPosition(x, y);
-                    placedTowers.add(tower);
+                    gameRunningGUI.placeTower(tower, x, y);
                     tower = null;
 
                     layeredPane.setLayer(TowerPanel.this, JLayeredPane.PALETTE_LAYER);
-                    repaint();
+                    repaintPlacement();
                 }
             }
         });
 
-        /** Tracks Mouse movement when tower selected */
+        /** Tracks Mouse movement when tower selected, the placement check waits for the next frame */
         addMouseMotionListener(new MouseMotionAdapter() {
             @Override
             public void mouseMoved(MouseEvent e) {
                 if (tower != null && tower.isSelected) {
-                    x = e.getX() - (tower.getImgWidth() / 2);
-                    y = e.getY() - (tower.getImgHeight() / 2);
-
-                    // Trash can area detection
-                    if (x > 865 && y < 210 && y > 170) {
-                        tower.isSelected = false;
-                        tower = null;
-                        setCursor(Cursor.getDefaultCursor());
-                        return;
-                    }
-
-                    tower.isPlaceable(x + (tower.getImgWidth() / 2), y + (tower.getImgHeight() / 2));
-                    repaint();
+                    mouseX = e.getX();
+                    mouseY = e.getY();
+                    placementPending = true;
                 }
             }
         });
     }
 
+    /**
+     * Applies the latest mouse position to the tower being placed. Called once per frame by the
+     * game loop and before a click is handled, so however many mouse events arrive in a frame
+     * the placement is checked and repainted at most once.
+     */
+    public void updatePlacement() {
+        if (!placementPending) return;
+        placementPending = false;
+        if (tower == null || !tower.isSelected) return;
+
+        x = mouseX - (tower.getImgWidth() / 2);
+        y = mouseY - (tower.getImgHeight() / 2);
+
+        // Trash can area detection
+        if (x > 865 && y < 210 && y > 170) {
+            tower.isSelected = false;
+            tower = null;
+            setCursor(Cursor.getDefaultCursor());
+            repaintPlacement();
+            return;
+        }
+
+        tower.isPlaceable(mouseX, mouseY);
+        /** Check for tower overlap*/
+        isTowerThere();
+        repaintPlacement();
+    }
+
+    /**
+     * Repaints only where the tower being placed was last drawn and where it is drawn now, along
+     * with the trash icon, instead of the whole panel.
+     */
+    private void repaintPlacement() {
+        if (!placementBounds.isEmpty()) {
+            repaint(placementBounds);
+        }
+        Tower tower = this.tower;
+        if (tower == null || !tower.isSelected) {
+            placementBounds.setBounds(0, 0, 0, 0);
+            return;
+        }
+        int diameter = tower.getRange();
+        int xOffset = (diameter / 2) - (tower.getImgWidth() / 2);
+        int yOffset = (diameter / 2) - (tower.getImgHeight() / 2);
+        placementBounds.setBounds(TRASH_X, TRASH_Y, TRASH_SIZE, TRASH_SIZE);
+        // Add the corners of the range circle and the image, so nothing is allocated per mouse move
+        placementBounds.add(x - xOffset, y - yOffset);
+        placementBounds.add(x - xOffset + diameter + 1, y - yOffset + diameter + 1);
+        placementBounds.add(x, y);
+        placementBounds.add(x + tower.getImgWidth(), y + tower.getImgHeight());
+        repaint(placementBounds);
+    }
+
     /**
      * Draws the tower being placed, its range, and the trash icon if selected.
      */
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        Tower tower = this.tower;
         if (tower == null) return;
-        /** Check for tower overlap*/
-        isTowerThere();
 
-        int diameter = tower.getRange();
         if (tower.isSelected) {
-            g.drawImage(trashImage, 883, 190, 45, 45, this);
+            g.drawImage(trashImage, TRASH_X, TRASH_Y, TRASH_SIZE, TRASH_SIZE, this);
             /** Syntax for removing mouse visual provided by CHATGPT*/
             setCursor(Toolkit.getDefaultToolkit().createCustomCursor(
                     new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB),
                     new Point(0, 0),
                     "InvisibleCursor"));
+        }
+        drawPlacement(g);
+    }
 
-            Color color = tower.isPlaceable() ?
-                    /** If Tower placeable show transparent gray */
-                    new Color(128, 128, 128, 128) :
-                    /** If Tower not placeable show transparent red */
-                    new Color(225, 0, 0, 128);
-
-            g.setColor(color);
-            /** Math to draw proper circle around tower provided by CHATGPT*/
-            int xOffset = (diameter / 2) - (tower.getImgWidth() / 2);
-            int yOffset = (diameter / 2) - (tower.getImgHeight() / 2);
-            g.fillOval(x - xOffset, y - yOffset, diameter, diameter);
+    /**
+     * Draws the tower being placed and its range, in this panel's coordinates. Also used by the
+     * {@link ActiveRenderer}, which draws over the part of this panel that covers the map, so it
+     * may be called from the render thread.
+     *
+     * @param g The graphics context to draw with.
+     */
+    public void drawPlacement(Graphics g) {
+        Tower tower = this.tower;
+        if (tower == null || !tower.isSelected) return;
 
-            g.drawImage(tower.towerImage, x, y, tower.getImgWidth(), tower.getImgHeight(), this);
-        }
+        int diameter = tower.getRange();
+        Color color = tower.isPlaceable() ?
+                /** If Tower placeable show transparent gray */
+                PLACEABLE_COLOR :
+                /** If Tower not placeable show transparent red */
+                BLOCKED_COLOR;
+
+        g.setColor(color);
+        /** Math to draw proper circle around tower provided by CHATGPT*/
+        int xOffset = (diameter / 2) - (tower.getImgWidth() / 2);
+        int yOffset = (diameter / 2) - (tower.getImgHeight() / 2);
+        g.fillOval(x - xOffset, y - yOffset, diameter, diameter);
+
+        g.drawImage(tower.archetype.getTowerImage(), x, y, tower.getImgWidth(), tower.getImgHeight(), null);
     }
 
     /**
-     * Prevents overlapping towers by checking nearby tower positions.
+     * Prevents overlapping towers by checking for placed towers near the current position.
      */
     private void isTowerThere() {
-        for (Tower placedTower : placedTowers) {
-            Point point = placedTower.getPosition();
-            int xDif = Math.abs(x - point.x);
-            int yDif = Math.abs(y - point.y);
-            if (xDif < 20 && yDif < 20) {
-                tower.placeable = false;
-                break;
-            }
+        if (simulation.isTowerNear(x, y)) {
+            tower.placeable = false;
         }
     }
 
@@ -155,6 +213,7 @@ public class TowerPanel extends JPanel {
      */
     public void setTower(Tower tower) {
         this.tower = tower;
+        repaintPlacement();
     }
 
     /**
@@ -34,9 +34,6 @@ public class TowerSelectionButtons extends JPanel {
     /** Button to scroll to the next page of towers. */
     private final JButton nextButton;
 
-    /** Reference to the main game window. */
-    private final JFrame runGame;
-
     /** The current map's image to assist with contextual tower placement visuals. */
     private final BufferedImage currentMap;
 
@@ -68,15 +65,13 @@ public class TowerSelectionButtons extends JPanel {
     /**
      * Constructs a TowerSelectionButtons panel with the necessary components.
      *
-     * @param rungGame         Reference to the main game frame.
      * @param currentMap       The current map image used for tower placement context.
      * @param towerPanel       The panel that manages the logic for tower placement.
      * @param layeredPane      The layered pane used to manage different overlapping UI components.
      * @param gameRunningGUI   Reference to the active game GUI, used for updates and state handling.
      */
-    public TowerSelectionButtons(RunGame rungGame, BufferedImage currentMap, TowerPanel towerPanel, JLayeredPane layeredPane, GameRunningGUI gameRunningGUI) {
+    public TowerSelectionButtons(BufferedImage currentMap, TowerPanel towerPanel, JLayeredPane layeredPane, GameRunningGUI gameRunningGUI) {
         this.towerNames = DEFAULT_TOWER_IMAGES;
-        this.runGame = rungGame;
         this.currentMap = currentMap;
         this.towerPanel = towerPanel;
         this.layeredPane = layeredPane;
@@ -170,7 +165,7 @@ public class TowerSelectionButtons extends JPanel {
      */
     private JButton createButton(String imageName) {
         JButton button = new JButton();
-        ImageIcon icon = new ImageIcon(getClass().getResource("/TowerImages/" + imageName));
+        ImageIcon icon = new ImageIcon(AssetRegistry.getImage("TowerImages/" + imageName));
         button.setIcon(icon);
         button.setPreferredSize(new Dimension(100, 100));
         button.setBackground(new Color(211, 211, 211, 45));
@@ -206,39 +201,39 @@ public class TowerSelectionButtons extends JPanel {
 
         switch (imageName) {
             case "DartMonkey.png":
-                tower = new DartMonkey(runGame, currentMap);
+                tower = new DartMonkey(currentMap);
                 displayTowerName = "Dart Monkey";
                 break;
             case "SuperMonkey.png":
-                tower = new SuperMonkey(runGame, currentMap);
+                tower = new SuperMonkey(currentMap);
                 displayTowerName = "Super Monkey";
                 break;
             case "BombTower.png":
-                tower = new BombTower(runGame, currentMap);
+                tower = new BombTower(currentMap);
                 displayTowerName = "Bomb Tower";
                 break;
             case "GlueGunner.png":
-                tower = new GlueGunner(runGame, currentMap);
+                tower = new GlueGunner(currentMap);
                 displayTowerName = "Glue Gunner";
                 break;
             case "IceTower.png":
-                tower = new IceTower(runGame, currentMap);
+                tower = new IceTower(currentMap);
                 displayTowerName = "Frozen Monkey";
                 break;
             case "Ninja.png":
-                tower = new Ninja(runGame, currentMap);
+                tower = new Ninja(currentMap);
                 displayTowerName = "Ninja Monkey";
                 break;
             case "SniperMonkey.png":
-                tower = new SniperMonkey(runGame, currentMap);
+                tower = new SniperMonkey(currentMap);
                 displayTowerName = "Sniper Monkey";
                 break;
             case "TackShooter.png":
-                tower = new TackShooter(runGame, currentMap);
+                tower = new TackShooter(currentMap);
                 displayTowerName = "Tack Shooter";
                 break;
             case "Wizard.png":
-                tower = new Wizard(runGame, currentMap);
+                tower = new Wizard(currentMap);
                 displayTowerName = "Wizard Monkey";
                 break;
             default:
@@ -4,6 +4,7 @@ import java.util.List;
  * Represents a single wave in the game.
  * A wave contains one or more {@link BloonSpawnInfo} groups,
  * each defining how many Bloons to spawn, their type (strength), and spawn interval.
+ * The groups are compiled into a {@link SpawnTimeline} once, when the wave is created.
  * @Author: Jace Claassen
  * @Author: Joseph Farrier
  */
@@ -14,6 +15,11 @@ public class Wave {
      */
     private final List<BloonSpawnInfo> bloons;
 
+    /**
+     * The spawn groups merged into a single time sorted timeline.
+     */
+    private final SpawnTimeline spawnTimeline;
+
     /**
      * Constructs a new {@code Wave} with the specified Bloon spawn information.
      *
@@ -21,6 +27,7 @@ public class Wave {
      */
     public Wave(List<BloonSpawnInfo> bloons) {
         this.bloons = bloons;
+        this.spawnTimeline = new SpawnTimeline(bloons);
     }
 
     /**
@@ -31,5 +38,14 @@ public class Wave {
     public List<BloonSpawnInfo> getBloons() {
         return bloons;
     }
+
+    /**
+     * Returns the compiled spawn timeline for this wave.
+     *
+     * @return the immutable {@link SpawnTimeline} of this wave
+     */
+    public SpawnTimeline getSpawnTimeline() {
+        return spawnTimeline;
+    }
 }
 
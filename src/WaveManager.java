@@ -102,6 +102,17 @@ public class WaveManager {
         return waves.get(currentWaveIndex);
     }
 
+    /**
+     * Returns the wave at the given index, for example to replay an earlier wave.
+     *
+     * @param index the index of the wave
+     * @return the {@link Wave} at that index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Wave getWave(int index) {
+        return waves.get(index);
+    }
+
     /**
      * Checks if there is a next wave to transition to.
      *
@@ -1,4 +1,5 @@
 import java.awt.Point;
+import java.awt.geom.Point2D;
 
 /**
  * Represents a segment between two waypoints on a path in the tower defense game.
@@ -19,6 +20,9 @@ public class WaypointSegment {
     /** Flag indicating whether the segment is a curved path. */
     private boolean isCurved;
 
+    /** Control point of the quadratic Bezier curve followed on a curved segment. */
+    private Point controlPoint;
+
     /**
      * Constructs a new {@code WaypointSegment} with the given start and end points,
      * and a flag indicating if the segment is curved.
@@ -31,6 +35,54 @@ public class WaypointSegment {
         this.startPoint = startPoint;
         this.endPoint = endPoint;
         this.isCurved = isCurved;
+        this.controlPoint = computeControlPoint();
+    }
+
+    /**
+     * Computes the control point that bends a curved segment into roughly a quarter circle.
+     * The control point sits on the perpendicular through the middle of the segment, offset
+     * by 38% of the segment's length to the clockwise side.
+     *
+     * @return the control point, or the midpoint for straight and zero-length segments
+     */
+    private Point computeControlPoint() {
+        int dx = endPoint.x - startPoint.x;
+        int dy = endPoint.y - startPoint.y;
+        int midX = (startPoint.x + endPoint.x) / 2;
+        int midY = (startPoint.y + endPoint.y) / 2;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (!isCurved || distance == 0) {
+            return new Point(midX, midY);
+        }
+        // Perpendicular vector (rotate 90 degrees) scaled to the strength of the curve
+        int perpX = -dy;
+        int perpY = dx;
+        int offsetAmount = (int) (distance * .38);
+        return new Point(
+                (int) (midX - (perpX * offsetAmount) / distance),
+                (int) (midY - (perpY * offsetAmount) / distance)
+        );
+    }
+
+    /**
+     * Returns the control point of the quadratic Bezier curve followed on a curved segment.
+     *
+     * @return the control {@link Point}
+     */
+    public Point getControlPoint() {
+        return controlPoint;
+    }
+
+    /**
+     * Computes the position on a curved segment for the given curve parameter.
+     *
+     * @param t   the curve parameter, from 0 at the start point to 1 at the end point
+     * @param out the point the position is written to
+     */
+    public void curvePointAt(double t, Point2D.Double out) {
+        double u = 1 - t;
+        out.x = u * u * startPoint.x + 2 * u * t * controlPoint.x + t * t * endPoint.x;
+        out.y = u * u * startPoint.y + 2 * u * t * controlPoint.y + t * t * endPoint.y;
     }
 
     /**
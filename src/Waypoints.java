@@ -1,4 +1,5 @@
 import java.awt.Point;
+import java.awt.geom.Point2D;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,6 +20,22 @@ public class Waypoints {
     /** The name of the map associated with these waypoints. */
     String mapName;
 
+    /** Number of chords each curved segment is split into when it is measured. */
+    private static final int CURVE_STEPS = 256;
+
+    /** Arc length between two entries of the path table, in pixels. */
+    public static final double TABLE_STEP = 1.0;
+
+    /** Segments balloons cannot be seen or targeted on, such as the tunnels on MonkeyLane. */
+    private int[] hiddenSegments = new int[0];
+
+    /** Distance along the path at which each segment starts; the last entry is the path length. */
+    private double[] segmentStarts;
+
+    /** Position and segment index every {@link #TABLE_STEP} pixels of arc length along the path. */
+    private double[] tableXs, tableYs;
+    private int[] tableSegments;
+
     /**
      * Constructs a {@code Waypoints} object for the given map name and
      * loads the corresponding waypoint segments.
@@ -29,6 +46,7 @@ public class Waypoints {
         segments = new ArrayList<>();
         loadWaypoints(mapName);
         this.mapName = mapName;
+        buildPathTable();
     }
 
     /**
@@ -61,6 +79,8 @@ public class Waypoints {
                 segments.add(new WaypointSegment(new Point(610, 372), new Point(430, 372), false)); // Linear
                 segments.add(new WaypointSegment(new Point(776, 372), new Point(400, 372), false)); // Linear
                 segments.add(new WaypointSegment(new Point(400, 372), new Point(400, 525), false)); // Linear
+                // Invisibility when going under the tunnels
+                hiddenSegments = new int[]{6, 18};
                 break;
 
             case "Maze":
@@ -122,6 +142,179 @@ public class Waypoints {
         }
     }
 
+    /**
+     * Builds the arc-length table for the whole path. The path is first traced as a fine
+     * polyline, with straight segments walked from where the previous segment ended and curved
+     * segments split into short chords, and then resampled so that consecutive table entries are
+     * exactly {@link #TABLE_STEP} pixels of arc length apart. Finding the position for a distance
+     * along the path is then an index computation and one linear interpolation.
+     */
+    private void buildPathTable() {
+        int count = segments.size();
+        segmentStarts = new double[count + 1];
+        if (count == 0) {
+            tableXs = new double[]{0};
+            tableYs = new double[]{0};
+            tableSegments = new int[]{0};
+            return;
+        }
+
+        // Trace the path as a polyline, remembering the arc length at every point
+        int capacity = count * (CURVE_STEPS + 1) + 1;
+        double[] xs = new double[capacity], ys = new double[capacity], lengths = new double[capacity];
+        int[] owners = new int[capacity];
+        Point2D.Double point = new Point2D.Double();
+        Point start = segments.get(0).getStartPoint();
+        xs[0] = start.x;
+        ys[0] = start.y;
+        int points = 1;
+        for (int i = 0; i < count; i++) {
+            WaypointSegment segment = segments.get(i);
+            segmentStarts[i] = lengths[points - 1];
+            int steps = segment.isCurved() ? CURVE_STEPS : 1;
+            for (int step = 1; step <= steps; step++) {
+                if (segment.isCurved()) {
+                    segment.curvePointAt(step / (double) steps, point);
+                } else {
+                    point.x = segment.getEndPoint().x;
+                    point.y = segment.getEndPoint().y;
+                }
+                xs[points] = point.x;
+                ys[points] = point.y;
+                lengths[points] = lengths[points - 1] + Math.hypot(point.x - xs[points - 1], point.y - ys[points - 1]);
+                owners[points] = i;
+                points++;
+            }
+        }
+        segmentStarts[count] = lengths[points - 1];
+
+        // Resample the polyline at uniform arc length
+        int tableSize = (int) Math.floor(getPathLength() / TABLE_STEP) + 2;
+        tableXs = new double[tableSize];
+        tableYs = new double[tableSize];
+        tableSegments = new int[tableSize];
+        int p = 1;
+        for (int i = 0; i < tableSize; i++) {
+            double distance = Math.min(i * TABLE_STEP, getPathLength());
+            while (p < points - 1 && lengths[p] < distance) {
+                p++;
+            }
+            double chord = lengths[p] - lengths[p - 1];
+            double fraction = chord == 0 ? 1 : (distance - lengths[p - 1]) / chord;
+            tableXs[i] = xs[p - 1] + (xs[p] - xs[p - 1]) * fraction;
+            tableYs[i] = ys[p - 1] + (ys[p] - ys[p - 1]) * fraction;
+            tableSegments[i] = owners[p];
+        }
+    }
+
+    /**
+     * Returns the x-coordinate of the point the given distance along the path.
+     *
+     * @param distance distance along the path in pixels, clamped to the path
+     * @return the x-coordinate
+     */
+    public double getXAt(double distance) {
+        return interpolate(tableXs, distance);
+    }
+
+    /**
+     * Returns the y-coordinate of the point the given distance along the path.
+     *
+     * @param distance distance along the path in pixels, clamped to the path
+     * @return the y-coordinate
+     */
+    public double getYAt(double distance) {
+        return interpolate(tableYs, distance);
+    }
+
+    /**
+     * Looks up a value in the path table by linear interpolation between the two table
+     * entries around the given distance.
+     */
+    private double interpolate(double[] table, double distance) {
+        double position = Math.max(0, Math.min(distance, getPathLength())) / TABLE_STEP;
+        int index = Math.min((int) position, table.length - 2);
+        double fraction = position - index;
+        return table[index] + (table[index + 1] - table[index]) * fraction;
+    }
+
+    /**
+     * Returns the index of the segment containing the point the given distance along the path.
+     *
+     * @param distance distance along the path in pixels
+     * @return the segment index, or the segment count once past the end of the path
+     */
+    public int getSegmentIndexAt(double distance) {
+        if (distance >= getPathLength()) {
+            return segments.size();
+        }
+        return tableSegments[(int) (Math.max(0, distance) / TABLE_STEP)];
+    }
+
+    /**
+     * Checks whether a balloon the given distance along the path is hidden from view.
+     *
+     * @param distance distance along the path in pixels
+     * @return true if the distance lies on a hidden segment
+     */
+    public boolean isHiddenAt(double distance) {
+        for (int segment : hiddenSegments) {
+            if (distance >= segmentStarts[segment] && distance < segmentStarts[segment + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the distance along the path at which the given segment starts.
+     *
+     * @param index the index of the segment
+     * @return the path distance in pixels
+     */
+    public double getSegmentStartDistance(int index) {
+        return segmentStarts[index];
+    }
+
+    /**
+     * Returns the length of the whole path.
+     *
+     * @return the path length in pixels
+     */
+    public double getPathLength() {
+        return segmentStarts[segments.size()];
+    }
+
+    /**
+     * Returns the number of entries in the path table. Entry {@code i} lies
+     * {@code i * TABLE_STEP} pixels along the path.
+     *
+     * @return the table size
+     */
+    public int getTableSize() {
+        return tableXs.length;
+    }
+
+    /**
+     * Returns the x-coordinate of a path table entry.
+     *
+     * @param index the index of the entry
+     * @return the x-coordinate
+     */
+    public double getTableX(int index) {
+        return tableXs[index];
+    }
+
+    /**
+     * Returns the y-coordinate of a path table entry.
+     *
+     * @param index the index of the entry
+     * @return the y-coordinate
+     */
+    public double getTableY(int index) {
+        return tableYs[index];
+    }
+
     /**
      * Returns the list of all waypoint segments for this map.
      *
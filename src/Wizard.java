@@ -1,6 +1,4 @@
-import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
 
 /**
  * Implements the Wizard tower that fires orb projectiles at balloons.
@@ -16,47 +14,35 @@ public class Wizard extends Tower {
     /**
      * Constructs a Wizard tower with preset stats and image.
      *
-     * @param runGame    the game window
      * @param currentMap the current game map
      */
-    public Wizard(JFrame runGame, BufferedImage currentMap) {
-        super(runGame, currentMap, "Wizard.png");
-        this.isRotatable = true;
-        this.setFireRate(700);
-        this.setRange(250);
-        this.setProjectileSpeed(8);
-        this.setProjectileDamage(1);
-        this.setTowerImageSize(TowerImageSize.WIZARD);
-        this.setCost(470);
-        towerType = "Wizard";
-        loadProjectileImages();
+    public Wizard(BufferedImage currentMap) {
+        super(currentMap, TowerArchetype.WIZARD);
     }
 
     /**
      * Fires an orb projectile toward a targeted balloon.
      *
-     * @param currentTarget the balloon being targeted
-     * @param projectiles   the list to add the projectile to
+     * @param balloons      the balloons on the map
+     * @param currentTarget the id of the balloon being targeted
+     * @param projectiles   the pool to fire the projectile from
      */
     @Override
-    public void fire(Balloon currentTarget, ArrayList<Projectile> projectiles) {
+    public void fire(BalloonStore balloons, int currentTarget, ProjectilePool projectiles) {
 
         /**Code to find center and angle to balloon provided by CHATGPT and tweaked */
-        double targetX = currentTarget.getX() + 27 / 2.0;
-        double targetY = currentTarget.getY() + 33 / 2.0;
+        double targetX = balloons.getX(currentTarget) + 27 / 2.0;
+        double targetY = balloons.getY(currentTarget) + 33 / 2.0;
 
         double x = this.xPosition + (getImgWidth() / 2.0);
         double y = this.yPosition + (getImgHeight() / 2.0);
 
         double angleRadians = Math.atan2(targetY - y, targetX - x);
 
-        Projectile p = new Projectile(
-                x, y, COLLISION_AREA, projectileSpeed, angleRadians,
-                diameter, currentTarget, 4, false,
-                getProjectileImage(3), ProjectileImageSize.ORB, getProjectileDamage()
+        projectiles.fire(
+                x, y, COLLISION_AREA, getProjectileSpeed(), angleRadians,
+                getRange(), currentTarget, 4, false,
+                archetype.getProjectileImage(), archetype.getProjectileSize(), getProjectileDamage()
         );
-
-        projectiles.add(p);
-        setFireTimer();
     }
 }